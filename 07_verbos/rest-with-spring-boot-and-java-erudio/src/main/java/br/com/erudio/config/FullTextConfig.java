@@ -0,0 +1,42 @@
+package br.com.erudio.config;
+
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Tamanho dos tokens do parser ngram do indice FULLTEXT de person.first_name. O valor de
+ * person.search.ngram-token-size tem prioridade; sem ele, @@ngram_token_size e lido na
+ * subida (a variavel so muda reiniciando o MySQL).
+ */
+@Configuration
+public class FullTextConfig {
+
+	private static final int MYSQL_DEFAULT_NGRAM_TOKEN_SIZE = 2;
+
+	private Logger logger = Logger.getLogger(FullTextConfig.class.getName());
+
+	private final int ngramTokenSize;
+
+	public FullTextConfig(JdbcTemplate jdbcTemplate,
+			@Value("${person.search.ngram-token-size:0}") int configuredTokenSize) {
+		this.ngramTokenSize = configuredTokenSize > 0 ? configuredTokenSize : readTokenSize(jdbcTemplate);
+	}
+
+	private int readTokenSize(JdbcTemplate jdbcTemplate) {
+		try {
+			Integer tokenSize = jdbcTemplate.queryForObject("SELECT @@ngram_token_size", Integer.class);
+			return tokenSize == null ? MYSQL_DEFAULT_NGRAM_TOKEN_SIZE : tokenSize;
+		} catch (Exception e) {
+			logger.warning("Não foi possivel ler ngram_token_size, usando " + MYSQL_DEFAULT_NGRAM_TOKEN_SIZE
+					+ ": " + e.getMessage());
+			return MYSQL_DEFAULT_NGRAM_TOKEN_SIZE;
+		}
+	}
+
+	public int getNgramTokenSize() {
+		return ngramTokenSize;
+	}
+}
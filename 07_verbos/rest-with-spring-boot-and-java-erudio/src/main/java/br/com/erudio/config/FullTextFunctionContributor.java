@@ -0,0 +1,22 @@
+package br.com.erudio.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra match_against(coluna, termo) para usar o indice FULLTEXT do MySQL em JPQL:
+ * gera MATCH(coluna) AGAINST(termo IN BOOLEAN MODE).
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+
+	@Override
+	public void contributeFunctions(FunctionContributions functionContributions) {
+		functionContributions.getFunctionRegistry().registerPattern(
+				"match_against",
+				"match(?1) against(?2 in boolean mode)",
+				functionContributions.getTypeConfiguration()
+					.getBasicTypeRegistry()
+					.resolve(StandardBasicTypes.DOUBLE));
+	}
+}
@@ -0,0 +1,52 @@
+package br.com.erudio.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "security.jwt.keys")
+public class JwtKeysConfig {
+	
+	private String algorithm = "HS256";
+	
+	private String activeKeyId;
+	
+	private String privateKey;
+	
+	private Map<String, String> publicKeys = new HashMap<>();
+
+	public String getAlgorithm() {
+		return algorithm;
+	}
+
+	public void setAlgorithm(String algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	public String getActiveKeyId() {
+		return activeKeyId;
+	}
+
+	public void setActiveKeyId(String activeKeyId) {
+		this.activeKeyId = activeKeyId;
+	}
+
+	public String getPrivateKey() {
+		return privateKey;
+	}
+
+	public void setPrivateKey(String privateKey) {
+		this.privateKey = privateKey;
+	}
+
+	public Map<String, String> getPublicKeys() {
+		return publicKeys;
+	}
+
+	public void setPublicKeys(Map<String, String> publicKeys) {
+		this.publicKeys = publicKeys;
+	}
+}
@@ -0,0 +1,59 @@
+package br.com.erudio.config;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache de segundo nivel do Hibernate em Caffeine (limites em application.conf). O
+ * CacheManager e criado aqui e entregue ao Hibernate para que as regioes possam ser
+ * expostas em /actuator/metrics (cache.gets, cache.puts, cache.evictions, cache.size).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+	@Bean(destroyMethod = "close")
+	CacheManager hibernateCacheManager() {
+		return Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+	}
+
+	@Bean
+	HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+
+	@Bean
+	SecondLevelCacheMetrics secondLevelCacheMetrics(CacheManager hibernateCacheManager, MeterRegistry registry) {
+		return new SecondLevelCacheMetrics(hibernateCacheManager, registry);
+	}
+
+	static class SecondLevelCacheMetrics {
+
+		private final CacheManager cacheManager;
+		private final MeterRegistry registry;
+
+		SecondLevelCacheMetrics(CacheManager cacheManager, MeterRegistry registry) {
+			this.cacheManager = cacheManager;
+			this.registry = registry;
+		}
+
+		@EventListener(ApplicationReadyEvent.class)
+		public void bind() {
+			for (String name : cacheManager.getCacheNames()) {
+				var cache = cacheManager.getCache(name).unwrap(com.github.benmanes.caffeine.cache.Cache.class);
+				CaffeineCacheMetrics.monitor(registry, cache, name);
+			}
+		}
+	}
+}
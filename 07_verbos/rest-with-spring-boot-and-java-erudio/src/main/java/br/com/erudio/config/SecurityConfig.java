@@ -1,9 +1,12 @@
 package br.com.erudio.config;
  
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.logging.Logger;
  
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,25 +19,61 @@ import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.SecurityFilterChain;
  
 import br.com.erudio.security.jwt.JwtConfigurer;
 import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.metrics.SecurityFilterTimingMarker;
+import br.com.erudio.security.password.CalibratedPbkdf2PasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
  
 @EnableWebSecurity
 @Configuration
 public class SecurityConfig {
+	
+	private Logger logger = Logger.getLogger(SecurityConfig.class.getName());
+	
+	private static final String[] PUBLIC_PATHS = {
+		"/auth/signin",
+		"/auth/refresh/**",
+		"/swagger-ui/**",
+		"/v3/api-docs/**"
+	};
  
 	@Autowired
 	private JwtTokenProvider tokenProvider;
 	
+	@Autowired
+	private MeterRegistry meterRegistry;
+	
+	@Value("${security.password.iterations:0}")
+	private int iterations;
+	
+	@Value("${security.password.latency-budget-ms:150}")
+	private long latencyBudgetMillis;
+	
+	@Value("${security.password.min-iterations:100000}")
+	private int minIterations;
+	
+	@Value("${security.password.max-iterations:600000}")
+	private int maxIterations;
+	
 	@Bean
 	PasswordEncoder passwordEncoder() {
 		Map<String, PasswordEncoder> encoders = new HashMap<>();
 				
 		Pbkdf2PasswordEncoder pbkdf2Encoder = new Pbkdf2PasswordEncoder("", 8, 185000, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
 		encoders.put("pbkdf2", pbkdf2Encoder);
-		DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("pbkdf2", encoders);
+		
+		int calibratedIterations = iterations > 0
+				? iterations
+				: CalibratedPbkdf2PasswordEncoder.calibrate(latencyBudgetMillis, minIterations, maxIterations);
+		logger.info("PBKDF2 usando " + calibratedIterations + " iterações");
+		encoders.put("pbkdf2-iter", new CalibratedPbkdf2PasswordEncoder(calibratedIterations, minIterations));
+		
+		DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("pbkdf2-iter", encoders);
 		passwordEncoder.setDefaultPasswordEncoderForMatches(pbkdf2Encoder);
 		return passwordEncoder;
 	}
@@ -48,27 +87,25 @@ public class SecurityConfig {
  
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        return http
+        DefaultSecurityFilterChain chain = http
                 .httpBasic().disable()
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(
             		session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(
                     authorizeHttpRequests -> authorizeHttpRequests
-                        .requestMatchers(
-							"/auth/signin",
-							"/auth/refresh/**",
-                    		"/swagger-ui/**",
-                    		"/v3/api-docs/**"
-                		).permitAll()
+                        .requestMatchers(PUBLIC_PATHS).permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .requestMatchers("/**").authenticated()
                         .requestMatchers("/users").denyAll()
                 )
                 .cors()
                 .and()
-                .apply(new JwtConfigurer(tokenProvider))
+                .apply(new JwtConfigurer(tokenProvider, PUBLIC_PATHS, meterRegistry))
                 .and()
                 .build();
- 
+        
+        List<Filter> timedFilters = SecurityFilterTimingMarker.interleave(chain.getFilters(), meterRegistry);
+        return new DefaultSecurityFilterChain(chain.getRequestMatcher(), timedFilters);
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package br.com.erudio.controllers;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -21,19 +23,20 @@ public class AuthController {
 	@SuppressWarnings("rawtypes")
 	@Operation(summary = "Atentica um usuário e retorna o token")
 	@PostMapping(value = "/signin")
-	public ResponseEntity signin(@RequestBody AccountCredentialsVO data) {
+	public CompletableFuture<ResponseEntity> signin(@RequestBody AccountCredentialsVO data) {
 		if (checkIfParamsIsNotNull(data)) {
-			return ResponseEntity
+			return CompletableFuture.completedFuture(ResponseEntity
 					.status(HttpStatus.FORBIDDEN)
-					.body("Requisição invalida");
+					.body("Requisição invalida"));
 		}
-		var token = authServices.signin(data);
-		if (token == null) {
-			return ResponseEntity
-					.status(HttpStatus.FORBIDDEN)
-					.body("Requisição invalida");
-		}
-		return token;
+		return authServices.signin(data).thenApply(token -> {
+			if (token == null) {
+				return ResponseEntity
+						.status(HttpStatus.FORBIDDEN)
+						.body("Requisição invalida");
+			}
+			return token;
+		});
 	}
 
 	@SuppressWarnings("rawtypes")
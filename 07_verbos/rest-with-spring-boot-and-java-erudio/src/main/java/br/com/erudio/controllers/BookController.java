@@ -1,35 +1,58 @@
 package br.com.erudio.controllers;
 
-import java.util.List;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.services.BookExportServices;
 import br.com.erudio.services.BookServices;
 import br.com.erudio.util.MediaType;
+import br.com.erudio.util.MergePatch;
+import br.com.erudio.util.TotalMode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/book")
 @Tag(name = "Livros", description = "Endpoints para gerenciamento de livros")
 public class BookController {
     
+	private static final Set<String> SORT_PROPERTIES = Set.of("title", "author", "price", "launchDate");
+
 	@Autowired
 	private BookServices service;
+
+	@Autowired
+	private BookExportServices exportService;
 	
     @GetMapping(produces = {MediaType.APPLICATION_JSON, 
     		MediaType.APPLICATION_XML,
@@ -49,8 +72,84 @@ public class BookController {
     			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
     			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
     	})
-	public List<BookVO> findAll() {
-        return service.findAll();
+	public ResponseEntity<PagedModel<EntityModel<BookVO>>> findAll(
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "sortBy", defaultValue = "title") String sortBy,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "total", defaultValue = "exact") String total
+	) {
+
+		var sortDirection = "desc".equalsIgnoreCase(direction)
+				? Sort.Direction.DESC : Sort.Direction.ASC;
+
+		if (cursor != null) {
+			return ResponseEntity.ok(service.findAll(cursor, size, sortDirection));
+		}
+
+		String property = SORT_PROPERTIES.contains(sortBy) ? sortBy : "title";
+		Pageable pageable = PageRequest.of(page, size,
+				Sort.by(sortDirection, property).and(Sort.by(sortDirection, "id")));
+		return ResponseEntity.ok(service.findAll(pageable, property, TotalMode.of(total)));
+    }
+
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_JSON,
+    		MediaType.APPLICATION_XML,
+    		MediaType.APPLICATION_YML})
+    @Operation(summary = "Pesquisa livros",
+    	description = "Pesquisa livros por prefixo do autor ou do titulo e por faixa de preco e de data de lancamento",
+    	tags = {"Livros"},
+    	responses = {
+    			@ApiResponse(description = "Success", responseCode = "200",
+    					content = {
+    							@Content(
+    									mediaType = "application/json",
+    									array = @ArraySchema(schema = @Schema(implementation = BookVO.class))
+    									)
+    					}),
+    			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+    			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+    			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+    	})
+	public ResponseEntity<PagedModel<EntityModel<BookVO>>> search(
+			@RequestParam(value = "author", required = false) String author,
+			@RequestParam(value = "title", required = false) String title,
+			@RequestParam(value = "minPrice", required = false) Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) Double maxPrice,
+			@RequestParam(value = "launchedFrom", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate launchedFrom,
+			@RequestParam(value = "launchedTo", required = false)
+			@DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate launchedTo,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "sortBy", defaultValue = "title") String sortBy
+	) {
+
+		var sortDirection = "desc".equalsIgnoreCase(direction)
+				? Sort.Direction.DESC : Sort.Direction.ASC;
+		String property = SORT_PROPERTIES.contains(sortBy) ? sortBy : "title";
+
+		Pageable pageable = PageRequest.of(page, size,
+				Sort.by(sortDirection, property).and(Sort.by(sortDirection, "id")));
+		return ResponseEntity.ok(service.search(author, title, minPrice, maxPrice,
+				launchedFrom, launchedTo, pageable, property));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON)
+    @Operation(summary = "Exporta todos os livros",
+    	description = "Envia todos os livros em NDJSON, um por linha, sem paginacao",
+		tags = {"Livros"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(mediaType = MediaType.APPLICATION_NDJSON)),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+	})
+    public void export(HttpServletResponse response) throws IOException {
+    	response.setContentType(MediaType.APPLICATION_NDJSON + ";charset=UTF-8");
+    	exportService.export(response.getOutputStream());
     }
     
     @GetMapping(value="/{id}", produces = {MediaType.APPLICATION_JSON, 
@@ -105,12 +204,36 @@ public class BookController {
 			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Conflict", responseCode = "409", content = @Content),
 			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
 	})
     public BookVO update(@RequestBody BookVO book){
     	return service.update(book);
     }    
     
+    @PatchMapping(value="/{id}", consumes = MediaType.APPLICATION_MERGE_PATCH_JSON,
+			produces = {MediaType.APPLICATION_JSON,
+			MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML})
+    @Operation(summary = "Atualiza parcialmente um livro",
+    	description = "Aplica um JSON Merge Patch; a versao esperada vai no header If-Match ou no campo version",
+		tags = {"Livros"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200", 
+					content = @Content(schema = @Schema(implementation = BookVO.class))),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Conflict", responseCode = "409", content = @Content),
+			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+	})
+    public ResponseEntity<BookVO> patch(@PathVariable("id") Long id,
+    		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    		@RequestBody JsonNode patch){
+    	var vo = service.patch(id, MergePatch.of(patch, ifMatch));
+    	return ResponseEntity.ok().eTag(String.valueOf(vo.getVersion())).body(vo);
+    }
+    
     @DeleteMapping(value="/{id}")
     @Operation(summary = "Deleta uma pessoa", description = "Deleta uma pessoa",
 		tags = {"Livros"},
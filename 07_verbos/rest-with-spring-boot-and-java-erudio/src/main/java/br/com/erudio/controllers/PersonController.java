@@ -1,5 +1,8 @@
 package br.com.erudio.controllers;
 
+import java.io.IOException;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import br.com.erudio.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,21 +18,57 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.fasterxml.jackson.databind.JsonNode;
 
+import br.com.erudio.config.FullTextConfig;
+import br.com.erudio.data.vo.v1.PersonBatchResultVO;
+import br.com.erudio.data.vo.v1.PersonDisableResultVO;
+import br.com.erudio.data.vo.v1.PersonDisableVO;
+import br.com.erudio.data.vo.v1.PersonImportJobVO;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.services.PersonBatchServices;
+import br.com.erudio.services.PersonDisableServices;
+import br.com.erudio.services.PersonExportServices;
+import br.com.erudio.services.PersonImportServices;
 import br.com.erudio.services.PersonServices;
+import br.com.erudio.util.ExportFormat;
+import br.com.erudio.util.MergePatch;
+import br.com.erudio.util.NameSearch;
+import br.com.erudio.util.TotalMode;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @RestController
 @RequestMapping("/person")
 @Tag(name = "Pessoa", description = "Endpoints para gerenciamento de pessoas")
 public class PersonController {
     
+	private static final Set<String> SEARCH_SORT_PROPERTIES = Set.of("firstName", "lastName", "gender", "address");
+
 	@Autowired
 	private PersonServices service;
 	
+	@Autowired
+	private FullTextConfig fullTextConfig;
+
+	@Autowired
+	private PersonBatchServices batchService;
+
+	@Autowired
+	private PersonExportServices exportService;
+
+	@Autowired
+	private PersonImportServices importService;
+
+	@Autowired
+	private PersonDisableServices disableService;
+	
     @GetMapping(produces = {MediaType.APPLICATION_JSON, 
     		MediaType.APPLICATION_XML,
     		MediaType.APPLICATION_YML})
@@ -52,14 +91,20 @@ public class PersonController {
 	public ResponseEntity<PagedModel<EntityModel<PersonVO>>> findAll(
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "size", defaultValue = "12") Integer size,
-			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "total", defaultValue = "exact") String total
 	) {
 
 		var sortDirection = "desc".equalsIgnoreCase(direction)
 				? Sort.Direction.DESC : Sort.Direction.ASC;
 
+		if (cursor != null) {
+			return ResponseEntity.ok(service.findAll(cursor, size, sortDirection));
+		}
+
 		Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
-		return ResponseEntity.ok(service.findAll(pageable));
+		return ResponseEntity.ok(service.findAll(pageable, TotalMode.of(total)));
 	}
 
 	@GetMapping(value = "/findPersonByName/{firstName}",
@@ -86,16 +131,82 @@ public class PersonController {
 			@PathVariable(value = "firstName") String firstName,
 			@RequestParam(value = "page", defaultValue = "0") Integer page,
 			@RequestParam(value = "size", defaultValue = "12") Integer size,
-			@RequestParam(value = "direction", defaultValue = "asc") String direction
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "total", defaultValue = "exact") String total,
+			@RequestParam(value = "match", defaultValue = "contains") String match
 	) {
 
 		var sortDirection = "desc".equalsIgnoreCase(direction)
 				? Sort.Direction.DESC : Sort.Direction.ASC;
 
 		Pageable pageable = PageRequest.of(page, size, Sort.by(sortDirection, "firstName"));
-		return ResponseEntity.ok(service.findPersonByName(firstName, pageable));
+		return ResponseEntity.ok(service.findPersonByName(firstName, pageable, TotalMode.of(total), NameSearch.of(firstName, match, fullTextConfig.getNgramTokenSize())));
 	}
 
+	@GetMapping(value = "/search",
+			produces = {MediaType.APPLICATION_JSON,
+			MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML})
+	@Operation(summary = "Pesquisa pessoas", description = "Pesquisa pessoas por qualquer combinação de nome, sobrenome, gênero, situação e prefixo do endereço",
+			tags = {"Pessoa"},
+			responses = {
+					@ApiResponse(description = "Success", responseCode = "200",
+							content = {
+									@Content(
+											mediaType = "application/json",
+											array = @ArraySchema(schema = @Schema(implementation = PersonVO.class))
+									)
+							}),
+					@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+					@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+					@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+			})
+
+	public ResponseEntity<PagedModel<EntityModel<PersonVO>>> search(
+			@RequestParam(value = "firstName", required = false) String firstName,
+			@RequestParam(value = "lastName", required = false) String lastName,
+			@RequestParam(value = "gender", required = false) String gender,
+			@RequestParam(value = "enabled", required = false) Boolean enabled,
+			@RequestParam(value = "address", required = false) String address,
+			@RequestParam(value = "page", defaultValue = "0") Integer page,
+			@RequestParam(value = "size", defaultValue = "12") Integer size,
+			@RequestParam(value = "direction", defaultValue = "asc") String direction,
+			@RequestParam(value = "sortBy", defaultValue = "firstName") String sortBy
+	) {
+
+		var sortDirection = "desc".equalsIgnoreCase(direction)
+				? Sort.Direction.DESC : Sort.Direction.ASC;
+		var sortProperty = SEARCH_SORT_PROPERTIES.contains(sortBy) ? sortBy : "firstName";
+
+		Pageable pageable = PageRequest.of(page, size,
+				Sort.by(sortDirection, sortProperty).and(Sort.by(sortDirection, "id")));
+		return ResponseEntity.ok(service.search(firstName, lastName, gender, enabled, address, pageable, sortProperty));
+	}
+
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON,
+    		MediaType.TEXT_CSV})
+    @Operation(summary = "Exporta todas as pessoas",
+    	description = "Envia todas as pessoas em NDJSON ou CSV, conforme o header Accept",
+		tags = {"Pessoa"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200", content = {
+					@Content(mediaType = MediaType.APPLICATION_NDJSON),
+					@Content(mediaType = MediaType.TEXT_CSV)
+			}),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Acceptable", responseCode = "406", content = @Content),
+			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+	})
+    public void export(
+    		@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+    		HttpServletResponse response) throws IOException {
+    	var format = ExportFormat.negotiate(accept);
+    	response.setContentType(format.getContentType());
+    	response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+    			"attachment; filename=\"person." + format.getExtension() + "\"");
+    	exportService.export(format, response.getOutputStream());
+    }
+
     @GetMapping(value="/{id}", produces = {MediaType.APPLICATION_JSON, 
     		MediaType.APPLICATION_XML,
     		MediaType.APPLICATION_YML})
@@ -134,6 +245,77 @@ public class PersonController {
     	return service.create(person);
     } 
     
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON,
+    		MediaType.APPLICATION_NDJSON},
+    		produces = {MediaType.APPLICATION_JSON,
+    				MediaType.APPLICATION_XML,
+    				MediaType.APPLICATION_YML})
+    @Operation(summary = "Cria ou atualiza pessoas em lote",
+    	description = "Recebe um array JSON ou NDJSON; itens sem key sao criados e itens com key sao atualizados",
+		tags = {"Pessoa"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = PersonBatchResultVO.class))),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+	})
+    public PersonBatchResultVO batch(HttpServletRequest request) throws IOException {
+    	return batchService.upsert(request.getInputStream());
+    }
+
+    @PostMapping(value = "/import", consumes = org.springframework.http.MediaType.MULTIPART_FORM_DATA_VALUE,
+    		produces = {MediaType.APPLICATION_JSON,
+    				MediaType.APPLICATION_XML,
+    				MediaType.APPLICATION_YML})
+    @Operation(summary = "Importa pessoas de um arquivo",
+    	description = "Recebe um arquivo CSV ou NDJSON e inicia a importacao em segundo plano",
+		tags = {"Pessoa"},
+		responses = {
+			@ApiResponse(description = "Accepted", responseCode = "202",
+					content = @Content(schema = @Schema(implementation = PersonImportJobVO.class))),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+	})
+    public ResponseEntity<PersonImportJobVO> importPeople(@RequestParam("file") MultipartFile file) {
+    	var job = importService.start(file);
+    	return ResponseEntity.accepted().location(job.getRequiredLink("self").toUri()).body(job);
+    }
+
+    @GetMapping(value = "/import/{id}", produces = {MediaType.APPLICATION_JSON,
+    		MediaType.APPLICATION_XML,
+    		MediaType.APPLICATION_YML})
+    @Operation(summary = "Consulta uma importacao", description = "Retorna o estado e o progresso de uma importacao",
+		tags = {"Pessoa"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200",
+					content = @Content(schema = @Schema(implementation = PersonImportJobVO.class))),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+	})
+    public PersonImportJobVO findImportJob(@PathVariable("id") Long id) {
+    	return importService.findById(id);
+    }
+
+    @PostMapping(value = "/import/{id}/resume", produces = {MediaType.APPLICATION_JSON,
+    		MediaType.APPLICATION_XML,
+    		MediaType.APPLICATION_YML})
+    @Operation(summary = "Retoma uma importacao",
+    	description = "Continua uma importacao interrompida a partir do ultimo bloco gravado",
+		tags = {"Pessoa"},
+		responses = {
+			@ApiResponse(description = "Accepted", responseCode = "202",
+					content = @Content(schema = @Schema(implementation = PersonImportJobVO.class))),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+	})
+    public ResponseEntity<PersonImportJobVO> resumeImport(@PathVariable("id") Long id) {
+    	return ResponseEntity.accepted().body(importService.resume(id));
+    }
+
     @PostMapping(value = "/v2", consumes = {MediaType.APPLICATION_JSON, 
     		MediaType.APPLICATION_XML,
     		MediaType.APPLICATION_YML},
@@ -158,12 +340,57 @@ public class PersonController {
 			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
 			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
 			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Conflict", responseCode = "409", content = @Content),
 			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
 	})
     public PersonVO update(@RequestBody PersonVO person){
     	return service.update(person);
     }
 
+    @PatchMapping(value="/{id}", consumes = MediaType.APPLICATION_MERGE_PATCH_JSON,
+			produces = {MediaType.APPLICATION_JSON,
+			MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML})
+    @Operation(summary = "Atualiza parcialmente uma pessoa",
+    	description = "Aplica um JSON Merge Patch; a versao esperada vai no header If-Match ou no campo version",
+		tags = {"Pessoa"},
+		responses = {
+			@ApiResponse(description = "Success", responseCode = "200", 
+					content = @Content(schema = @Schema(implementation = PersonVO.class))),
+			@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+			@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+			@ApiResponse(description = "Not Found", responseCode = "404", content = @Content),
+			@ApiResponse(description = "Conflict", responseCode = "409", content = @Content),
+			@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+	})
+    public ResponseEntity<PersonVO> patch(@PathVariable("id") Long id,
+    		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+    		@RequestBody JsonNode patch){
+    	var vo = service.patch(id, MergePatch.of(patch, ifMatch));
+    	return ResponseEntity.ok().eTag(String.valueOf(vo.getVersion())).body(vo);
+    }
+    
+	@PatchMapping(value = "/disable",
+			consumes = {MediaType.APPLICATION_JSON,
+			MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML},
+			produces = {MediaType.APPLICATION_JSON,
+			MediaType.APPLICATION_XML,
+			MediaType.APPLICATION_YML})
+	@Operation(summary = "Desabilita pessoas em massa",
+			description = "Desabilita as pessoas dos ids informados ou, sem ids, as que atendem aos filtros",
+			tags = {"Pessoa"},
+			responses = {
+					@ApiResponse(description = "Success", responseCode = "200",
+							content = @Content(schema = @Schema(implementation = PersonDisableResultVO.class))),
+					@ApiResponse(description = "Bad Request", responseCode = "400", content = @Content),
+					@ApiResponse(description = "Unauthorized", responseCode = "401", content = @Content),
+					@ApiResponse(description = "Internal", responseCode = "500", content = @Content)
+			})
+	public PersonDisableResultVO disablePeople(@RequestBody PersonDisableVO request){
+		return disableService.disable(request);
+	}
+
 	@PatchMapping(value="/{id}",
 			produces = {MediaType.APPLICATION_JSON,
 			MediaType.APPLICATION_XML,
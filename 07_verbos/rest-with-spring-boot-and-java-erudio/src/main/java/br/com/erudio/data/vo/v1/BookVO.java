@@ -20,8 +20,18 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable{
 	private Date launchDate;
 	private Double price;
 	private String title;
+	private Long version;
 	
 	public BookVO(){}
+
+	public BookVO(long key, String author, Date launchDate, Double price, String title, Long version) {
+		this.key = key;
+		this.author = author;
+		this.launchDate = launchDate;
+		this.price = price;
+		this.title = title;
+		this.version = version;
+	}
 	
 	public long getKey() {
 		return key;
@@ -63,6 +73,14 @@ public class BookVO extends RepresentationModel<BookVO> implements Serializable{
 		this.title = title;
 	}
 	
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
@@ -0,0 +1,58 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+
+public class PersonBatchItemVO implements Serializable{
+
+	private static final long serialVersionUID = 1L;
+
+	public static final String CREATED = "created";
+	public static final String UPDATED = "updated";
+	public static final String FAILED = "failed";
+
+	private int index;
+	private Long key;
+	private String status;
+	private String message;
+
+	public PersonBatchItemVO() {}
+
+	public PersonBatchItemVO(int index, Long key, String status, String message) {
+		this.index = index;
+		this.key = key;
+		this.status = status;
+		this.message = message;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int index) {
+		this.index = index;
+	}
+
+	public Long getKey() {
+		return key;
+	}
+
+	public void setKey(Long key) {
+		this.key = key;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+}
@@ -0,0 +1,42 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PersonBatchResultVO implements Serializable{
+
+	private static final long serialVersionUID = 1L;
+
+	private int created;
+	private int updated;
+	private int failed;
+	private List<PersonBatchItemVO> items = new ArrayList<>();
+
+	public PersonBatchResultVO() {}
+
+	public void add(PersonBatchItemVO item) {
+		switch (item.getStatus()) {
+			case PersonBatchItemVO.CREATED -> created++;
+			case PersonBatchItemVO.UPDATED -> updated++;
+			default -> failed++;
+		}
+		items.add(item);
+	}
+
+	public int getCreated() {
+		return created;
+	}
+
+	public int getUpdated() {
+		return updated;
+	}
+
+	public int getFailed() {
+		return failed;
+	}
+
+	public List<PersonBatchItemVO> getItems() {
+		return items;
+	}
+}
@@ -0,0 +1,24 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+
+public class PersonDisableResultVO implements Serializable{
+
+	private static final long serialVersionUID = 1L;
+
+	private long disabled;
+
+	public PersonDisableResultVO() {}
+
+	public PersonDisableResultVO(long disabled) {
+		this.disabled = disabled;
+	}
+
+	public long getDisabled() {
+		return disabled;
+	}
+
+	public void setDisabled(long disabled) {
+		this.disabled = disabled;
+	}
+}
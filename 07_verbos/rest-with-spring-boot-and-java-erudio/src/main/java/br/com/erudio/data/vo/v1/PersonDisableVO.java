@@ -0,0 +1,77 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Pessoas a desabilitar: a lista de ids ou, sem ids, os filtros da pesquisa
+ * (nomes e endereco por prefixo, genero por igualdade).
+ */
+public class PersonDisableVO implements Serializable{
+
+	private static final long serialVersionUID = 1L;
+
+	private List<Long> ids;
+
+	@JsonProperty("first_name")
+	private String firstName;
+
+	@JsonProperty("last_name")
+	private String lastName;
+
+	private String gender;
+
+	private String address;
+
+	public PersonDisableVO() {}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+	public void setIds(List<Long> ids) {
+		this.ids = ids;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public void setFirstName(String firstName) {
+		this.firstName = firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public void setLastName(String lastName) {
+		this.lastName = lastName;
+	}
+
+	public String getGender() {
+		return gender;
+	}
+
+	public void setGender(String gender) {
+		this.gender = gender;
+	}
+
+	public String getAddress() {
+		return address;
+	}
+
+	public void setAddress(String address) {
+		this.address = address;
+	}
+
+	public boolean hasFilter() {
+		return !isBlank(firstName) || !isBlank(lastName) || !isBlank(gender) || !isBlank(address);
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+}
@@ -0,0 +1,125 @@
+package br.com.erudio.data.vo.v1;
+
+import java.io.Serializable;
+import java.util.Date;
+
+import org.springframework.hateoas.RepresentationModel;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.github.dozermapper.core.Mapping;
+
+@JsonPropertyOrder({"key", "file_name", "format", "status", "committed_rows", "created_rows", "failed_rows", "message"})
+public class PersonImportJobVO extends RepresentationModel<PersonImportJobVO> implements Serializable{
+
+	private static final long serialVersionUID = 1L;
+
+	@Mapping("id")
+	private long key;
+
+	@JsonProperty("file_name")
+	private String fileName;
+
+	private String format;
+
+	private String status;
+
+	@JsonProperty("committed_rows")
+	private long committedRows;
+
+	@JsonProperty("created_rows")
+	private long createdRows;
+
+	@JsonProperty("failed_rows")
+	private long failedRows;
+
+	private String message;
+
+	@JsonProperty("created_at")
+	private Date createdAt;
+
+	@JsonProperty("updated_at")
+	private Date updatedAt;
+
+	public PersonImportJobVO() {}
+
+	public long getKey() {
+		return key;
+	}
+
+	public void setKey(long key) {
+		this.key = key;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public void setFileName(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public long getCommittedRows() {
+		return committedRows;
+	}
+
+	public void setCommittedRows(long committedRows) {
+		this.committedRows = committedRows;
+	}
+
+	public long getCreatedRows() {
+		return createdRows;
+	}
+
+	public void setCreatedRows(long createdRows) {
+		this.createdRows = createdRows;
+	}
+
+	public long getFailedRows() {
+		return failedRows;
+	}
+
+	public void setFailedRows(long failedRows) {
+		this.failedRows = failedRows;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Date createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
@@ -28,6 +28,8 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
 	private String gender;
 
 	private Boolean enabled;
+
+	private Long version;
 	
 	public PersonVO() {}
 
@@ -79,6 +81,14 @@ public class PersonVO extends RepresentationModel<PersonVO> implements Serializa
 		this.enabled = enabled;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (this == o) return true;
@@ -0,0 +1,18 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPatchException extends RuntimeException{
+	
+	private static final long serialVersionUID = 1L;
+	
+	public InvalidPatchException(String ex) {
+		super(ex);
+	}
+	
+	public InvalidPatchException(String ex, Throwable cause) {
+		super(ex, cause);
+	}
+}
@@ -0,0 +1,18 @@
+package br.com.erudio.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ResourceConflictException extends RuntimeException{
+	
+	private static final long serialVersionUID = 1L;
+	
+	public ResourceConflictException() {
+		super("O registro foi alterado por outra requisição, recarregue e tente novamente!");
+	}
+	
+	public ResourceConflictException(String ex) {
+		super(ex);
+	}
+}
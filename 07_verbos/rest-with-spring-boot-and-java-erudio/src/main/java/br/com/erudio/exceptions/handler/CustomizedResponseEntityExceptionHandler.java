@@ -2,8 +2,10 @@ package br.com.erudio.exceptions.handler;
 
 import java.util.Date;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,9 +13,13 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import br.com.erudio.exceptions.ExceptionResponse;
+import br.com.erudio.exceptions.InvalidCursorException;
 import br.com.erudio.exceptions.InvalidJwtAuthenticationException;
+import br.com.erudio.exceptions.InvalidPatchException;
 import br.com.erudio.exceptions.RequiredObjectsIsNullException;
+import br.com.erudio.exceptions.ResourceConflictException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.exceptions.TooManyRequestsException;
 
 @ControllerAdvice
 @RestController
@@ -41,7 +47,8 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 		return new ResponseEntity<>(exceptionResponse, HttpStatus.NOT_FOUND);
 	}
 	
-	@ExceptionHandler(RequiredObjectsIsNullException.class)
+	@ExceptionHandler({RequiredObjectsIsNullException.class, InvalidCursorException.class,
+		InvalidPatchException.class})
 	public final ResponseEntity<ExceptionResponse> handleBadRequestExceptions(
 			Exception ex, WebRequest request){
 		ExceptionResponse exceptionResponse = new ExceptionResponse(
@@ -52,6 +59,19 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 		return new ResponseEntity<>(exceptionResponse, HttpStatus.BAD_REQUEST);
 	}	
 	
+	@ExceptionHandler({ResourceConflictException.class, ObjectOptimisticLockingFailureException.class})
+	public final ResponseEntity<ExceptionResponse> handleConflictExceptions(
+			Exception ex, WebRequest request){
+		String message = ex instanceof ResourceConflictException
+				? ex.getMessage() : new ResourceConflictException().getMessage();
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(), 
+				message, 
+				request.getDescription(false));
+		
+		return new ResponseEntity<>(exceptionResponse, HttpStatus.CONFLICT);
+	}	
+	
 	@ExceptionHandler(InvalidJwtAuthenticationException.class)
 	public final ResponseEntity<ExceptionResponse> handleInvalidJwtAuthenticationException(
 			Exception ex, WebRequest request){
@@ -62,4 +82,17 @@ public class CustomizedResponseEntityExceptionHandler extends ResponseEntityExce
 		
 		return new ResponseEntity<>(exceptionResponse, HttpStatus.FORBIDDEN);
 	}	
+	
+	@ExceptionHandler(TooManyRequestsException.class)
+	public final ResponseEntity<ExceptionResponse> handleTooManyRequestsException(
+			TooManyRequestsException ex, WebRequest request){
+		ExceptionResponse exceptionResponse = new ExceptionResponse(
+				new Date(), 
+				ex.getMessage(), 
+				request.getDescription(false));
+		
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+				.body(exceptionResponse);
+	}
 }
@@ -0,0 +1,32 @@
+package br.com.erudio.mapper;
+
+import java.util.Date;
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.model.Book;
+
+/**
+ * Conversao Book/BookVO gerada pelo MapStruct, com o id da entidade na key do VO.
+ */
+@Mapper(componentModel = "spring")
+public interface BookVOMapper {
+
+	@Mapping(source = "id", target = "key")
+	BookVO toVO(Book book);
+
+	List<BookVO> toVOs(List<Book> books);
+
+	@Mapping(source = "key", target = "id")
+	Book toEntity(BookVO book);
+
+	/**
+	 * launchDate chega como java.sql.Date; o VO recebe um java.util.Date novo, como no Dozer.
+	 */
+	default Date copy(Date date) {
+		return date == null ? null : new Date(date.getTime());
+	}
+}
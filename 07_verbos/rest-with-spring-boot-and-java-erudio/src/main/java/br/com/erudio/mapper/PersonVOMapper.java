@@ -0,0 +1,31 @@
+package br.com.erudio.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonSummary;
+
+/**
+ * Conversao Person/PersonVO gerada em tempo de compilacao pelo MapStruct, no lugar do
+ * DozerMapper. Segue o mesmo contrato do @Mapping("id") do VO: id da entidade vira key.
+ */
+@Mapper(componentModel = "spring")
+public interface PersonVOMapper {
+
+	@Mapping(source = "id", target = "key")
+	PersonVO toVO(Person person);
+
+	List<PersonVO> toVOs(List<Person> people);
+
+	@Mapping(source = "id", target = "key")
+	PersonVO toVO(PersonSummary summary);
+
+	List<PersonVO> fromSummaries(List<PersonSummary> summaries);
+
+	@Mapping(source = "key", target = "id")
+	Person toEntity(PersonVO person);
+}
@@ -1,34 +1,19 @@
 package br.com.erudio.mapper.custom;
 
-import java.util.Date;
-
-import org.springframework.stereotype.Service;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 import br.com.erudio.data.vo.v2.PersonVOV2;
 import br.com.erudio.model.Person;
 
-@Service
-public class PersonMapper {
+@Mapper(componentModel = "spring")
+public interface PersonMapper {
 
-	public PersonVOV2 convertEntityToVo(Person person) {
-		PersonVOV2 vo = new PersonVOV2();
-		vo.setId(person.getId());
-		vo.setAddress(person.getAddress());
-		vo.setBirthDay(new Date());
-		vo.setFirstName(person.getFirstName());
-		vo.setLastName(person.getLastName());
-		vo.setGender(person.getGender());
-		return vo;
-	}
+	@Mapping(target = "birthDay", expression = "java(new java.util.Date())")
+	PersonVOV2 convertEntityToVo(Person person);
 
-	public Person convertVoToEntity(PersonVOV2 person) {
-		Person entity = new Person();
-		entity.setId(person.getId());
-		entity.setAddress(person.getAddress());
-		entity.setFirstName(person.getFirstName());
-		entity.setLastName(person.getLastName());
-		entity.setGender(person.getGender());
-		return entity;
-	}
+	@Mapping(target = "enabled", ignore = true)
+	@Mapping(target = "version", ignore = true)
+	Person convertVoToEntity(PersonVOV2 person);
 	
 }
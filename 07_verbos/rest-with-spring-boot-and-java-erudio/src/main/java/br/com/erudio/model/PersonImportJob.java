@@ -0,0 +1,174 @@
+package br.com.erudio.model;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+@Entity
+@Table(name = "person_import_job")
+public class PersonImportJob implements Serializable{
+
+	private static final long serialVersionUID = 1L;
+
+	public static final String PENDING = "pending";
+	public static final String RUNNING = "running";
+	public static final String COMPLETED = "completed";
+	public static final String FAILED = "failed";
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+
+	@Column(name = "file_name", nullable = false)
+	private String fileName;
+
+	@Column(name = "stored_file", nullable = false)
+	private String storedFile;
+
+	@Column(nullable = false, length = 10)
+	private String format;
+
+	@Column(nullable = false, length = 20)
+	private String status;
+
+	@Column(name = "committed_rows", nullable = false)
+	private long committedRows;
+
+	@Column(name = "created_rows", nullable = false)
+	private long createdRows;
+
+	@Column(name = "failed_rows", nullable = false)
+	private long failedRows;
+
+	@Column(length = 1000)
+	private String message;
+
+	@Column(name = "created_at", nullable = false)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date createdAt;
+
+	@Column(name = "updated_at", nullable = false)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date updatedAt;
+
+	public PersonImportJob() {}
+
+	public PersonImportJob(String fileName, String storedFile, String format) {
+		this.fileName = fileName;
+		this.storedFile = storedFile;
+		this.format = format;
+		this.status = PENDING;
+		this.createdAt = new Date();
+		this.updatedAt = this.createdAt;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public void setFileName(String fileName) {
+		this.fileName = fileName;
+	}
+
+	public String getStoredFile() {
+		return storedFile;
+	}
+
+	public void setStoredFile(String storedFile) {
+		this.storedFile = storedFile;
+	}
+
+	public String getFormat() {
+		return format;
+	}
+
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+	public String getStatus() {
+		return status;
+	}
+
+	public void setStatus(String status) {
+		this.status = status;
+	}
+
+	public long getCommittedRows() {
+		return committedRows;
+	}
+
+	public void setCommittedRows(long committedRows) {
+		this.committedRows = committedRows;
+	}
+
+	public long getCreatedRows() {
+		return createdRows;
+	}
+
+	public void setCreatedRows(long createdRows) {
+		this.createdRows = createdRows;
+	}
+
+	public long getFailedRows() {
+		return failedRows;
+	}
+
+	public void setFailedRows(long failedRows) {
+		this.failedRows = failedRows;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	public Date getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Date createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public Date getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Date updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof PersonImportJob)) return false;
+		PersonImportJob that = (PersonImportJob) o;
+		return id == that.id;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+}
@@ -0,0 +1,126 @@
+package br.com.erudio.model;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+
+@Entity
+@Table(name = "refresh_token")
+public class RefreshToken implements Serializable{
+
+	private static final long serialVersionUID = 1L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+	
+	@Column(name = "token_id", nullable = false, unique = true, length = 36)
+	private String tokenId;
+	
+	@Column(name = "family_id", nullable = false, length = 36)
+	private String familyId;
+	
+	@Column(name = "user_name", nullable = false)
+	private String userName;
+	
+	@Column(name = "expires_at", nullable = false)
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date expiresAt;
+	
+	@Column(nullable = false)
+	private Boolean consumed = false;
+	
+	@Column(nullable = false)
+	private Boolean revoked = false;
+	
+	public RefreshToken() {}
+
+	public RefreshToken(String tokenId, String familyId, String userName, Date expiresAt) {
+		this.tokenId = tokenId;
+		this.familyId = familyId;
+		this.userName = userName;
+		this.expiresAt = expiresAt;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public String getTokenId() {
+		return tokenId;
+	}
+
+	public void setTokenId(String tokenId) {
+		this.tokenId = tokenId;
+	}
+
+	public String getFamilyId() {
+		return familyId;
+	}
+
+	public void setFamilyId(String familyId) {
+		this.familyId = familyId;
+	}
+
+	public String getUserName() {
+		return userName;
+	}
+
+	public void setUserName(String userName) {
+		this.userName = userName;
+	}
+
+	public Date getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Date expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public Boolean getConsumed() {
+		return consumed;
+	}
+
+	public void setConsumed(Boolean consumed) {
+		this.consumed = consumed;
+	}
+
+	public Boolean getRevoked() {
+		return revoked;
+	}
+
+	public void setRevoked(Boolean revoked) {
+		this.revoked = revoked;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(tokenId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		RefreshToken other = (RefreshToken) obj;
+		return Objects.equals(tokenId, other.tokenId);
+	}
+}
@@ -1,9 +1,56 @@
 package br.com.erudio.repositories;
 
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import br.com.erudio.data.vo.v1.BookVO;
 import br.com.erudio.model.Book;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long>{}
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>{
+
+    @Query(value = "SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title, b.version) FROM Book b",
+            countQuery = "SELECT COUNT(b) FROM Book b")
+    Page<BookVO> findAllVOs(Pageable pageable);
+
+    @Query("SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title, b.version) FROM Book b")
+    Slice<BookVO> findSlice(Pageable pageable);
+
+    @Query("SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title, b.version) FROM Book b WHERE b.id > :id ORDER BY b.id ASC")
+    List<BookVO> findPageAfter(@Param("id") long id, Pageable limit);
+
+    @Query("SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title, b.version) FROM Book b WHERE b.id < :id ORDER BY b.id DESC")
+    List<BookVO> findPageBefore(@Param("id") long id, Pageable limit);
+
+    /**
+     * Catalogo inteiro em VOs, para montar o BookCatalogSnapshot.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("SELECT new br.com.erudio.data.vo.v1.BookVO(b.id, b.author, b.launchDate, b.price, b.title, b.version) FROM Book b ORDER BY b.id")
+    List<BookVO> findCatalog();
+
+    /**
+     * Cursor somente leitura para a listagem completa em NDJSON, nos mesmos moldes de
+     * PersonRepository.streamAll.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT b FROM Book b ORDER BY b.id")
+    Stream<Book> streamAll();
+}
@@ -0,0 +1,62 @@
+package br.com.erudio.repositories;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.erudio.model.Book;
+
+/**
+ * Filtros da pesquisa de livros. Autor e titulo sao buscados por prefixo; preco e data de
+ * lancamento por faixa (limites inclusivos, qualquer um pode ser omitido). Cada filtro e
+ * atendido por um dos indices de V20. Filtros nulos ou vazios sao ignorados.
+ */
+public final class BookSpecifications {
+
+	private BookSpecifications() {}
+
+	public static Specification<Book> search(String author, String title, Double minPrice, Double maxPrice,
+			LocalDate launchedFrom, LocalDate launchedTo) {
+		return Specification.where(startsWith("author", author))
+				.and(startsWith("title", title))
+				.and(priceBetween(minPrice, maxPrice))
+				.and(launchedBetween(launchedFrom, launchedTo));
+	}
+
+	private static Specification<Book> startsWith(String attribute, String value) {
+		if (value == null || value.isBlank()) return null;
+		String pattern = value.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+		return (root, query, cb) -> cb.like(root.get(attribute), pattern, '!');
+	}
+
+	private static Specification<Book> priceBetween(Double min, Double max) {
+		if (min == null && max == null) return null;
+		return (root, query, cb) -> {
+			var price = root.<Double>get("price");
+			if (min == null) return cb.lessThanOrEqualTo(price, max);
+			if (max == null) return cb.greaterThanOrEqualTo(price, min);
+			return cb.between(price, min, max);
+		};
+	}
+
+	/**
+	 * launch_date guarda hora; o fim da faixa vira "antes do dia seguinte" para incluir o
+	 * dia inteiro sem aplicar funcao na coluna.
+	 */
+	private static Specification<Book> launchedBetween(LocalDate from, LocalDate to) {
+		if (from == null && to == null) return null;
+		return (root, query, cb) -> {
+			var launchDate = root.<Date>get("launchDate");
+			var start = from == null ? null : cb.greaterThanOrEqualTo(launchDate, toDate(from));
+			var end = to == null ? null : cb.lessThan(launchDate, toDate(to.plusDays(1)));
+			if (start == null) return end;
+			if (end == null) return start;
+			return cb.and(start, end);
+		};
+	}
+
+	private static Date toDate(LocalDate date) {
+		return java.sql.Date.valueOf(date);
+	}
+}
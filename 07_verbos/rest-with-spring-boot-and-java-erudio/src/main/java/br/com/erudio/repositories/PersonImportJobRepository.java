@@ -0,0 +1,27 @@
+package br.com.erudio.repositories;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.erudio.model.PersonImportJob;
+
+@Repository
+public interface PersonImportJobRepository extends JpaRepository<PersonImportJob, Long>{
+
+	/**
+	 * Marca o job como running se ele nao estiver concluido nem em execucao. Um job running
+	 * sem progresso desde staleBefore e considerado abandonado (no que caiu) e pode ser
+	 * reivindicado de novo. Retorna 1 apenas para o no que ganhou o job.
+	 */
+	@Modifying
+	@Transactional
+	@Query("UPDATE PersonImportJob j SET j.status = 'running', j.updatedAt = :now WHERE j.id = :id "
+			+ "AND j.status <> 'completed' AND (j.status <> 'running' OR j.updatedAt < :staleBefore)")
+	int claim(@Param("id") Long id, @Param("now") Date now, @Param("staleBefore") Date staleBefore);
+}
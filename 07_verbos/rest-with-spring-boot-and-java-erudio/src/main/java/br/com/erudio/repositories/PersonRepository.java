@@ -1,22 +1,82 @@
 package br.com.erudio.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.com.erudio.model.Person;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Long>{
+public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person>,
+		PersonRepositoryCustom {
+
+    /**
+     * Update em massa: nao passa pelo cache de segundo nivel, entao o Hibernate invalida a
+     * regiao inteira de Person ao executa-lo. Para uma unica pessoa prefira alterar a
+     * entidade, que atualiza so a entrada dela no cache.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VERSIONED Person p SET p.enabled = false WHERE p.id IN :ids AND p.enabled = true")
+    int disableAll(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Person p WHERE p.firstName LIKE :pattern ESCAPE '!'")
+    Page<Person> findPersonByName(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT p FROM Person p WHERE p.firstName LIKE :pattern ESCAPE '!'")
+    Slice<Person> findSliceByName(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Person p WHERE p.firstName LIKE :pattern ESCAPE '!'")
+    long countPersonByName(@Param("pattern") String pattern);
+
+    @Query("SELECT p FROM Person p WHERE match_against(p.firstName, :term) > 0 AND p.firstName LIKE :pattern ESCAPE '!'")
+    Page<Person> searchPersonByName(@Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT p FROM Person p WHERE match_against(p.firstName, :term) > 0 AND p.firstName LIKE :pattern ESCAPE '!'")
+    Slice<Person> searchSliceByName(@Param("term") String term, @Param("pattern") String pattern, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM Person p WHERE match_against(p.firstName, :term) > 0 AND p.firstName LIKE :pattern ESCAPE '!'")
+    long countSearchByName(@Param("term") String term, @Param("pattern") String pattern);
+
+    /**
+     * Cursor somente leitura para exportacao: com fetch size Integer.MIN_VALUE o driver do
+     * MySQL entrega as linhas uma a uma em vez de carregar o resultado inteiro, e as
+     * entidades nao sao gravadas no cache de segundo nivel.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT p FROM Person p ORDER BY p.id")
+    Stream<Person> streamAll();
+
+    @Query(value = "SELECT new br.com.erudio.repositories.PersonSummary(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled, p.version) FROM Person p",
+            countQuery = "SELECT COUNT(p) FROM Person p")
+    Page<PersonSummary> findAllSummaries(Pageable pageable);
+
+    @Query("SELECT new br.com.erudio.repositories.PersonSummary(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled, p.version) FROM Person p")
+    Slice<PersonSummary> findSlice(Pageable pageable);
+
+    @Query("SELECT new br.com.erudio.repositories.PersonSummary(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled, p.version) FROM Person p")
+    List<PersonSummary> findPage(Pageable pageable);
 
-    @Modifying
-    @Query("UPDATE Person p SET p.enabled = false WHERE p.id =:id")
-    void disablePerson(@Param("id") Long id);
+    @Query("SELECT new br.com.erudio.repositories.PersonSummary(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled, p.version) FROM Person p WHERE p.firstName > :firstName OR (p.firstName = :firstName AND p.id > :id) ORDER BY p.firstName ASC, p.id ASC")
+    List<PersonSummary> findPageAfter(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
 
-    @Query("SELECT p FROM Person p WHERE p.firstName LIKE LOWER(CONCAT('%', :firstName, '%'))")
-    Page<Person> findPersonByName(@Param("firstName") String firstName, Pageable pageable);
+    @Query("SELECT new br.com.erudio.repositories.PersonSummary(p.id, p.firstName, p.lastName, p.address, p.gender, p.enabled, p.version) FROM Person p WHERE p.firstName < :firstName OR (p.firstName = :firstName AND p.id < :id) ORDER BY p.firstName DESC, p.id DESC")
+    List<PersonSummary> findPageBefore(@Param("firstName") String firstName, @Param("id") Long id, Pageable pageable);
 }
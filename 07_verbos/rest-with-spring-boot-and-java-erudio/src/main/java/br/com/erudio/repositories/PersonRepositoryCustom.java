@@ -0,0 +1,16 @@
+package br.com.erudio.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.erudio.model.Person;
+
+public interface PersonRepositoryCustom {
+
+	/**
+	 * Proximos ids (em ordem crescente) maiores que afterId que atendem ao filtro. Percorre
+	 * a chave primaria por keyset, sem OFFSET e sem visitar faixas de ids inexistentes.
+	 */
+	List<Long> findIdsAfter(Specification<Person> spec, long afterId, int limit);
+}
@@ -0,0 +1,31 @@
+package br.com.erudio.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.erudio.model.Person;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.Predicate;
+
+public class PersonRepositoryCustomImpl implements PersonRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<Long> findIdsAfter(Specification<Person> spec, long afterId, int limit) {
+		var cb = entityManager.getCriteriaBuilder();
+		var query = cb.createQuery(Long.class);
+		var root = query.from(Person.class);
+
+		Predicate after = cb.greaterThan(root.<Long>get("id"), afterId);
+		Predicate filter = spec == null ? null : spec.toPredicate(root, query, cb);
+		query.select(root.<Long>get("id"))
+			.where(filter == null ? after : cb.and(filter, after))
+			.orderBy(cb.asc(root.get("id")));
+
+		return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+	}
+}
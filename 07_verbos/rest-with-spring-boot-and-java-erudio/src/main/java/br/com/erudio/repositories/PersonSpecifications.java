@@ -0,0 +1,40 @@
+package br.com.erudio.repositories;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.erudio.model.Person;
+
+/**
+ * Filtros da pesquisa de pessoas. Nomes e endereco sao buscados por prefixo e genero e
+ * enabled por igualdade, para que cada filtro seja atendido por um dos indices de V14/V16.
+ * Filtros nulos ou vazios sao ignorados.
+ */
+public final class PersonSpecifications {
+
+	private PersonSpecifications() {}
+
+	public static Specification<Person> search(
+			String firstName, String lastName, String gender, Boolean enabled, String address) {
+		return Specification.where(startsWith("firstName", firstName))
+				.and(startsWith("lastName", lastName))
+				.and(startsWith("address", address))
+				.and(equalTo("gender", gender))
+				.and(equalTo("enabled", enabled));
+	}
+
+	private static Specification<Person> startsWith(String attribute, String value) {
+		if (value == null || value.isBlank()) return null;
+		String pattern = value.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+		return (root, query, cb) -> cb.like(root.get(attribute), pattern, '!');
+	}
+
+	private static Specification<Person> equalTo(String attribute, Object value) {
+		if (value == null) return null;
+		if (value instanceof String text) {
+			if (text.isBlank()) return null;
+			value = text.trim();
+		}
+		Object expected = value;
+		return (root, query, cb) -> cb.equal(root.get(attribute), expected);
+	}
+}
@@ -0,0 +1,55 @@
+package br.com.erudio.repositories;
+
+/**
+ * Linha de listagem de Person lida por constructor expression: nao e entidade gerenciada
+ * nem passa pelo cache de segundo nivel. O PersonServices converte para PersonVO.
+ */
+public class PersonSummary {
+
+	private final long id;
+	private final String firstName;
+	private final String lastName;
+	private final String address;
+	private final String gender;
+	private final Boolean enabled;
+	private final Long version;
+
+	public PersonSummary(long id, String firstName, String lastName, String address, String gender,
+			Boolean enabled, Long version) {
+		this.id = id;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.address = address;
+		this.gender = gender;
+		this.enabled = enabled;
+		this.version = version;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String getFirstName() {
+		return firstName;
+	}
+
+	public String getLastName() {
+		return lastName;
+	}
+
+	public String getAddress() {
+		return address;
+	}
+
+	public String getGender() {
+		return gender;
+	}
+
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+}
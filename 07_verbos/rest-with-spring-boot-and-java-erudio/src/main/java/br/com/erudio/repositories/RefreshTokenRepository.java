@@ -0,0 +1,33 @@
+package br.com.erudio.repositories;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.erudio.model.RefreshToken;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long>{
+	
+	@Query("SELECT r FROM RefreshToken r WHERE r.tokenId = :tokenId")
+	RefreshToken findByTokenId(@Param("tokenId") String tokenId);
+	
+	@Modifying
+	@Query("UPDATE RefreshToken r SET r.consumed = true WHERE r.tokenId = :tokenId AND r.familyId = :familyId "
+			+ "AND r.consumed = false AND r.revoked = false AND r.expiresAt > :now")
+	int consume(@Param("tokenId") String tokenId, @Param("familyId") String familyId, @Param("now") Date now);
+	
+	@Modifying
+	@Query("UPDATE RefreshToken r SET r.revoked = true WHERE r.familyId = :familyId")
+	int revokeFamily(@Param("familyId") String familyId);
+	
+	@Modifying
+	@Transactional
+	@Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+	void deleteExpired(@Param("now") Date now);
+}
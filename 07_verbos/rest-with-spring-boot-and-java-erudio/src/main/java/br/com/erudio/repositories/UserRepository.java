@@ -1,5 +1,7 @@
 package br.com.erudio.repositories;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,4 +14,12 @@ public interface UserRepository extends JpaRepository<User, Long>{
 	
 	@Query("SELECT u FROM User u WHERE u.userName =:userName")
 	User findByUsername(@Param("userName") String userName);
+	
+	@Query("SELECT u.userName FROM User u WHERE u.enabled = true AND u.accountNonLocked = true "
+			+ "AND u.accountNonExpired = true AND u.credentialsNonExpired = true")
+	List<String> findActiveUsernames();
+	
+	@Query("SELECT COUNT(u) > 0 FROM User u WHERE u.userName = :userName AND u.enabled = true "
+			+ "AND u.accountNonLocked = true AND u.accountNonExpired = true AND u.credentialsNonExpired = true")
+	boolean isActive(@Param("userName") String userName);
 }
@@ -0,0 +1,56 @@
+package br.com.erudio.security.jwt;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.repositories.UserRepository;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Usuarios que ainda podem autenticar no modo "claims". Guardar os ativos (e nao os bloqueados)
+ * faz com que usuarios removidos do banco tambem percam o acesso no proximo refresh. Ate a
+ * primeira carga bem sucedida cada consulta vai ao banco, para que uma falha na subida nao
+ * bloqueie todos os usuarios.
+ */
+@Component
+@ConditionalOnProperty(name = "security.jwt.authentication-mode", havingValue = "claims")
+public class ActiveUsersCache {
+
+	private Logger logger = Logger.getLogger(ActiveUsersCache.class.getName());
+
+	@Autowired
+	UserRepository repository;
+
+	private volatile Set<String> activeUsernames;
+
+	@PostConstruct
+	protected void init() {
+		refresh();
+	}
+
+	@Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-interval:30000}")
+	public void refresh() {
+		try {
+			activeUsernames = new HashSet<>(repository.findActiveUsernames());
+		} catch (Exception e) {
+			logger.warning("Não foi possivel atualizar os usuários ativos: " + e.getMessage());
+		}
+	}
+
+	public boolean isActive(String username) {
+		Set<String> loaded = activeUsernames;
+		if (loaded != null) return loaded.contains(username);
+		try {
+			return repository.isActive(username);
+		} catch (Exception e) {
+			logger.warning("Não foi possivel verificar o usuário " + username + ": " + e.getMessage());
+			return false;
+		}
+	}
+}
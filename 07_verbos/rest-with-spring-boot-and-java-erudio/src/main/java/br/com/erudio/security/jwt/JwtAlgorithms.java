@@ -0,0 +1,92 @@
+package br.com.erudio.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.com.erudio.config.JwtKeysConfig;
+
+public class JwtAlgorithms {
+
+	private JwtAlgorithms() {}
+
+	public static Algorithm create(JwtKeysConfig keys, byte[] secret) {
+		return switch (algorithmName(keys)) {
+			case "HS256" -> Algorithm.HMAC256(secret);
+			case "ES256" -> Algorithm.ECDSA256(new PemKeyProvider.Ec(
+					publicKeys(keys, "EC", ECPublicKey.class),
+					signingKey(keys, "EC", "SHA256withECDSA", ECPrivateKey.class, ECPublicKey.class),
+					keys.getActiveKeyId()));
+			case "RS256" -> Algorithm.RSA256(new PemKeyProvider.Rsa(
+					publicKeys(keys, "RSA", RSAPublicKey.class),
+					signingKey(keys, "RSA", "SHA256withRSA", RSAPrivateKey.class, RSAPublicKey.class),
+					keys.getActiveKeyId()));
+			default -> throw new IllegalStateException(
+					"Algoritmo de assinatura JWT não suportado: " + keys.getAlgorithm());
+		};
+	}
+
+	public static boolean canSign(JwtKeysConfig keys) {
+		return "HS256".equals(algorithmName(keys)) || keys.getPrivateKey() != null;
+	}
+
+	private static String algorithmName(JwtKeysConfig keys) {
+		return keys.getAlgorithm() == null ? "HS256" : keys.getAlgorithm().toUpperCase();
+	}
+
+	private static <K extends PublicKey> Map<String, K> publicKeys(
+			JwtKeysConfig keys, String keyAlgorithm, Class<K> type) {
+		Map<String, K> publicKeys = new HashMap<>();
+		keys.getPublicKeys().forEach((keyId, path) ->
+				publicKeys.put(keyId, type.cast(PemKeys.readPublicKey(path, keyAlgorithm))));
+		return publicKeys;
+	}
+
+	/**
+	 * Chave privada do no que assina. A chave publica de active-key-id precisa estar em
+	 * public-keys e formar par com ela; caso contrario o no emitiria tokens que nem ele
+	 * consegue verificar, entao a subida falha.
+	 */
+	private static <K extends PrivateKey> K signingKey(JwtKeysConfig keys, String keyAlgorithm,
+			String signatureAlgorithm, Class<K> type, Class<? extends PublicKey> publicType) {
+		if (keys.getPrivateKey() == null) return null;
+		K privateKey = type.cast(PemKeys.readPrivateKey(keys.getPrivateKey(), keyAlgorithm));
+		String keyId = keys.getActiveKeyId();
+		String publicKeyPath = keyId == null ? null : keys.getPublicKeys().get(keyId);
+		if (publicKeyPath == null) {
+			throw new IllegalStateException("A chave pública de active-key-id '" + keyId
+					+ "' precisa estar em security.jwt.keys.public-keys");
+		}
+		PublicKey publicKey = publicType.cast(PemKeys.readPublicKey(publicKeyPath, keyAlgorithm));
+		if (!isPair(privateKey, publicKey, signatureAlgorithm)) {
+			throw new IllegalStateException("A chave pública '" + keyId + "' não corresponde à chave privada");
+		}
+		return privateKey;
+	}
+
+	private static boolean isPair(PrivateKey privateKey, PublicKey publicKey, String signatureAlgorithm) {
+		try {
+			byte[] probe = "jwt-key-pair".getBytes(StandardCharsets.UTF_8);
+			Signature signer = Signature.getInstance(signatureAlgorithm);
+			signer.initSign(privateKey);
+			signer.update(probe);
+			byte[] signature = signer.sign();
+			Signature verifier = Signature.getInstance(signatureAlgorithm);
+			verifier.initVerify(publicKey);
+			verifier.update(probe);
+			return verifier.verify(signature);
+		} catch (GeneralSecurityException e) {
+			return false;
+		}
+	}
+}
@@ -6,19 +6,27 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 public class JwtConfigurer extends 
 	SecurityConfigurerAdapter<DefaultSecurityFilterChain, HttpSecurity> {
 	
 	@Autowired
 	private JwtTokenProvider tokenProvider;
 	
-	public JwtConfigurer(JwtTokenProvider tokenProvider){
+	private final String[] publicPaths;
+	
+	private final MeterRegistry registry;
+	
+	public JwtConfigurer(JwtTokenProvider tokenProvider, String[] publicPaths, MeterRegistry registry){
 		this.tokenProvider = tokenProvider;
+		this.publicPaths = publicPaths;
+		this.registry = registry;
 	}
 
 	@Override
 	public void configure(HttpSecurity http) throws Exception {
-		JwtTokenFilter customFilter = new JwtTokenFilter(tokenProvider);
+		JwtTokenFilter customFilter = new JwtTokenFilter(tokenProvider, publicPaths, registry);
 		http.addFilterBefore(customFilter , UsernamePasswordAuthenticationFilter.class);
 	}
 
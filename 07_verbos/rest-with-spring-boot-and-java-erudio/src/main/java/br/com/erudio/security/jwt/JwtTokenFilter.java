@@ -1,36 +1,86 @@
 package br.com.erudio.security.jwt;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.GenericFilterBean;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServletRequest;
 
+/**
+ * Rotas publicas passam direto, sem ler o header. Nas demais, headers malformados sao
+ * descartados antes de qualquer verificacao de assinatura. O tempo de cada etapa e
+ * registrado em security.jwt.filter (tag stage).
+ */
 public class JwtTokenFilter extends GenericFilterBean{
 	
 	@Autowired
 	private JwtTokenProvider tokenProvider;
 	
-	public JwtTokenFilter(JwtTokenProvider tokenProvider) {
+	private final RequestMatcher publicRoutes;
+	
+	private final Timer bypassTimer;
+	private final Timer resolveTimer;
+	private final Timer verifyTimer;
+	private final Timer authenticateTimer;
+	
+	public JwtTokenFilter(JwtTokenProvider tokenProvider, String[] publicPaths, MeterRegistry registry) {
 		this.tokenProvider = tokenProvider;
+		this.publicRoutes = new OrRequestMatcher(Arrays.stream(publicPaths)
+				.map(path -> (RequestMatcher) new AntPathRequestMatcher(path))
+				.toList());
+		this.bypassTimer = stageTimer("bypass", registry);
+		this.resolveTimer = stageTimer("resolve", registry);
+		this.verifyTimer = stageTimer("verify", registry);
+		this.authenticateTimer = stageTimer("authenticate", registry);
+	}
+	
+	private static Timer stageTimer(String stage, MeterRegistry registry) {
+		return Timer.builder("security.jwt.filter")
+				.tag("stage", stage)
+				.register(registry);
 	}
 
 	@Override
 	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
 			throws IOException, ServletException {
-		String token = tokenProvider.resolveToken((HttpServletRequest)request);
+		HttpServletRequest httpRequest = (HttpServletRequest) request;
+		
+		long start = System.nanoTime();
+		if (publicRoutes.matches(httpRequest)) {
+			bypassTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			chain.doFilter(request, response);
+			return;
+		}
+		
+		String token = tokenProvider.resolveToken(httpRequest);
+		long resolved = System.nanoTime();
+		resolveTimer.record(resolved - start, TimeUnit.NANOSECONDS);
 		
-		if(token != null && tokenProvider.validateToken(token)) {
-			Authentication auth = tokenProvider.getAuthentication(token);
-			if(auth != null) {
-				SecurityContextHolder.getContext().setAuthentication(auth);
+		if(token != null) {
+			boolean valid = tokenProvider.validateToken(token);
+			long verified = System.nanoTime();
+			verifyTimer.record(verified - resolved, TimeUnit.NANOSECONDS);
+			
+			if (valid) {
+				Authentication auth = tokenProvider.getAuthentication(token);
+				authenticateTimer.record(System.nanoTime() - verified, TimeUnit.NANOSECONDS);
+				if(auth != null) {
+					SecurityContextHolder.getContext().setAuthentication(auth);
+				}
 			}
 		}
 		
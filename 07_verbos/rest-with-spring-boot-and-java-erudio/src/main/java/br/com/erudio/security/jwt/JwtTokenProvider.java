@@ -3,123 +3,257 @@ package br.com.erudio.security.jwt;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.AlgorithmMismatchException;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
+import br.com.erudio.config.JwtKeysConfig;
 import br.com.erudio.data.vo.v1.security.TokenVO;
 import br.com.erudio.exceptions.InvalidJwtAuthenticationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 
 @Service
 public class JwtTokenProvider {
 	
+	private static final int MAX_CACHED_ISSUERS = 64;
+	
+	private static final int MAX_TOKEN_LENGTH = 8192;
+	
 	@Value("${security.jwt.token.secret-key:secret}")
 	private String secretKey = "secret";
 	
 	@Value("${security.jwt.token.expire-length:3600000}")
 	private long validityInMilliseconds = 3600000;
 	
+	@Value("${security.jwt.authentication-mode:database}")
+	private String authenticationMode = "database";
+	
+	@Autowired
+	private JwtKeysConfig keysConfig;
+	
 	@Autowired
 	private UserDetailsService userDetailsService;
 	
+	@Autowired(required = false)
+	private ActiveUsersCache activeUsers;
+	
+	@Autowired
+	private VerifiedTokenCache tokenCache;
+	
+	@Autowired
+	private RefreshTokenStore refreshTokenStore;
+	
+	@Autowired
+	private MeterRegistry registry;
+	
 	Algorithm algorithm = null;
 	
+	JWTVerifier verifier = null;
+	
+	TokenMinter minter = null;
+	
+	boolean signingEnabled = false;
+	
+	private final Map<String, String> issuers = new ConcurrentHashMap<>();
+	
+	private final Map<String, Counter> verifications = new ConcurrentHashMap<>();
+	
 	@PostConstruct
 	protected void init() {
 		secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
-		algorithm = Algorithm.HMAC256(secretKey.getBytes());
+		algorithm = JwtAlgorithms.create(keysConfig, secretKey.getBytes());
+		verifier = JWT.require(algorithm).build();
+		minter = new TokenMinter(algorithm);
+		signingEnabled = JwtAlgorithms.canSign(keysConfig);
 	}
 	
-	public TokenVO createAccessToken(String username, List<String> roles) {
+	/**
+	 * Emite o par de tokens para o emissor informado; pode rodar fora da thread da
+	 * requisicao (o issuer vem de currentIssuer, lido antes na thread do Tomcat).
+	 */
+	public TokenVO createAccessToken(String username, List<String> roles, String issuer) {
+		return createAccessToken(username, roles, issuer, UUID.randomUUID().toString());
+	}
+	
+	private TokenVO createAccessToken(String username, List<String> roles, String issuer, String family) {
+		if (!signingEnabled) {
+			throw new IllegalStateException("Este nó não possui chave privada para emitir tokens");
+		}
 		Date now = new Date();
 		Date validity = new Date(now.getTime() + validityInMilliseconds);
+		Date validityRefreshToken = new Date(now.getTime() + (validityInMilliseconds * 3));
 		
-		var accessToken = getAcessToken(username, roles, now, validity);
-		var refreshToken = getRefreshToken(username, roles, now);
+		String tokenId = UUID.randomUUID().toString();
+		refreshTokenStore.register(tokenId, family, username, validityRefreshToken);
 		
-		return new TokenVO(username, true, now, validity, accessToken, refreshToken);
+		var tokens = minter.mint(username, roles, issuer, now, validity, validityRefreshToken, family, tokenId);
+		
+		return new TokenVO(username, true, now, validity, tokens.getAccessToken(), tokens.getRefreshToken());
 	}
 
-	public TokenVO refreshToken(String refreshToken) {
+	/**
+	 * Consome o refresh token e registra o novo na mesma transacao; se o reuso for
+	 * detectado a revogacao da familia e gravada mesmo com a excecao.
+	 */
+	@Transactional(noRollbackFor = InvalidJwtAuthenticationException.class)
+	public TokenVO refreshToken(String username, String refreshToken) {
 		if (refreshToken.contains("Bearer ")){
 			refreshToken = refreshToken.substring("Bearer ".length());
 		}
-		JWTVerifier verifier = JWT.require(algorithm).build();
 		DecodedJWT decodedJWT = verifier.verify(refreshToken);
-		String username = decodedJWT.getSubject();
+		if (!username.equals(decodedJWT.getSubject())) {
+			throw new InvalidJwtAuthenticationException("Refresh token invalido");
+		}
+		String family = decodedJWT.getClaim("family").asString();
+		refreshTokenStore.consume(decodedJWT.getId(), family, decodedJWT.getExpiresAt());
+		
 		List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
 
-		return createAccessToken(username, roles);
+		return createAccessToken(username, roles, currentIssuer(), family);
 	}
 
-	private String getAcessToken(String username, List<String> roles, Date now, Date validity) {
-		String issueUrl = ServletUriComponentsBuilder.fromCurrentContextPath().
-				build().toUriString();
-		
-		return JWT.create().
-				withClaim("roles", roles)
-				.withIssuedAt(now)
-				.withExpiresAt(validity)
-				.withSubject(username)
-				.withIssuer(issueUrl)
-				.sign(algorithm)
-				.strip();
-	}
-	
-	private String getRefreshToken(String username, List<String> roles, Date now) {
-		Date validityRefreshToken = new Date(now.getTime() + (validityInMilliseconds * 3));
-		
+	public String currentIssuer() {
+		HttpServletRequest request =
+				((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+		String key = request.getScheme() + "://" + request.getServerName() + ":"
+				+ request.getServerPort() + request.getContextPath();
 		
-		return JWT.create().
-				withClaim("roles", roles)
-				.withIssuedAt(now)
-				.withExpiresAt(validityRefreshToken)
-				.withSubject(username)
-				.sign(algorithm)
-				.strip();
+		String issuer = issuers.get(key);
+		if (issuer == null) {
+			issuer = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
+			// O host vem da requisicao, entao o cache e limitado
+			if (issuers.size() < MAX_CACHED_ISSUERS) {
+				issuers.put(key, issuer);
+			}
+		}
+		return issuer;
 	}
 	
 	public Authentication getAuthentication(String token) {
-		DecodedJWT decodedJWT = decodedToken(token);
+		VerifiedToken verifiedToken = verifiedToken(token);
+		if ("claims".equals(authenticationMode)) {
+			return getAuthenticationFromClaims(verifiedToken);
+		}
 		UserDetails userDetails = this.userDetailsService.
-				loadUserByUsername(decodedJWT.getSubject());
+				loadUserByUsername(verifiedToken.getSubject());
+		return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+	}
+	
+	private Authentication getAuthenticationFromClaims(VerifiedToken verifiedToken) {
+		String username = verifiedToken.getSubject();
+		if (activeUsers != null && !activeUsers.isActive(username)) {
+			return null;
+		}
+		UserDetails userDetails = User.withUsername(username)
+				.password("")
+				.authorities(AuthorityUtils.createAuthorityList(verifiedToken.getRoles().toArray(String[]::new)))
+				.build();
 		return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
 	}
 
-	private DecodedJWT decodedToken(String token) {
-		Algorithm alg = Algorithm.HMAC256(secretKey.getBytes());
-		JWTVerifier verifier = JWT.require(alg).build();
-		DecodedJWT decodedJWT = verifier.verify(token);
-		
-		return decodedJWT;
+	private VerifiedToken verifiedToken(String token) {
+		return tokenCache.get(token, this::verify);
+	}
+	
+	private VerifiedToken verify(String token) {
+		try {
+			VerifiedToken verified = VerifiedToken.of(verifier.verify(token));
+			countVerification("success", "none");
+			return verified;
+		} catch (JWTVerificationException e) {
+			countVerification("failure", failureReason(e));
+			throw e;
+		}
+	}
+	
+	private static String failureReason(JWTVerificationException e) {
+		if (e instanceof TokenExpiredException) return "expired";
+		if (e instanceof SignatureVerificationException) return "signature";
+		if (e instanceof AlgorithmMismatchException) return "algorithm";
+		if (e instanceof JWTDecodeException) return "malformed";
+		return "claims";
+	}
+	
+	private void countVerification(String result, String reason) {
+		verifications.computeIfAbsent(result + ":" + reason, key -> Counter.builder("security.jwt.verify")
+				.tag("result", result)
+				.tag("reason", reason)
+				.register(registry))
+			.increment();
 	}
 	
 	public String resolveToken(HttpServletRequest req) {
 		String bearerToken = req.getHeader("Authorization");
 		if(bearerToken != null && bearerToken.startsWith("Bearer ")) {
-			return bearerToken.substring("Bearer ".length());
+			String token = bearerToken.substring("Bearer ".length());
+			if (isWellFormed(token)) {
+				return token;
+			}
+			countVerification("failure", "malformed");
 		}
 		return null;
 	}
 	
+	/**
+	 * Checagem estrutural (tamanho, tres segmentos base64url) feita antes de qualquer
+	 * decodificacao ou verificacao de assinatura.
+	 */
+	public static boolean isWellFormed(String token) {
+		int length = token.length();
+		if (length == 0 || length > MAX_TOKEN_LENGTH) return false;
+		
+		int dots = 0;
+		int segmentStart = 0;
+		for (int i = 0; i < length; i++) {
+			char c = token.charAt(i);
+			if (c == '.') {
+				if (i == segmentStart) return false;
+				dots++;
+				segmentStart = i + 1;
+			} else if (!isBase64Url(c)) {
+				return false;
+			}
+		}
+		return dots == 2 && segmentStart < length;
+	}
+	
+	private static boolean isBase64Url(char c) {
+		return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+				|| c == '-' || c == '_';
+	}
+	
 	public boolean validateToken(String token) {
-		DecodedJWT decodedJWT = decodedToken(token);
+		VerifiedToken verifiedToken = verifiedToken(token);
 		
 		try {
-			if(decodedJWT.getExpiresAt().before(new Date())) {
+			if(verifiedToken.isExpired(System.currentTimeMillis())) {
 				return false;
 			}
 			return true;
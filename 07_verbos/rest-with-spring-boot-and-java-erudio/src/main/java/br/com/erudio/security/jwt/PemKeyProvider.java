@@ -0,0 +1,55 @@
+package br.com.erudio.security.jwt;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Map;
+
+import com.auth0.jwt.interfaces.ECDSAKeyProvider;
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+
+/**
+ * Chaves publicas indexadas pelo kid do header, para que um no valide tokens de todas
+ * as chaves ativas. Sem chave privada o no apenas valida.
+ */
+public abstract class PemKeyProvider<U extends PublicKey, R extends PrivateKey> {
+
+	private final Map<String, U> publicKeys;
+	private final R privateKey;
+	private final String privateKeyId;
+
+	protected PemKeyProvider(Map<String, U> publicKeys, R privateKey, String privateKeyId) {
+		this.publicKeys = Map.copyOf(publicKeys);
+		this.privateKey = privateKey;
+		this.privateKeyId = privateKeyId;
+	}
+
+	public U getPublicKeyById(String keyId) {
+		return publicKeys.get(keyId != null ? keyId : privateKeyId);
+	}
+
+	public R getPrivateKey() {
+		return privateKey;
+	}
+
+	public String getPrivateKeyId() {
+		return privateKeyId;
+	}
+
+	public static class Ec extends PemKeyProvider<ECPublicKey, ECPrivateKey> implements ECDSAKeyProvider {
+
+		public Ec(Map<String, ECPublicKey> publicKeys, ECPrivateKey privateKey, String privateKeyId) {
+			super(publicKeys, privateKey, privateKeyId);
+		}
+	}
+
+	public static class Rsa extends PemKeyProvider<RSAPublicKey, RSAPrivateKey> implements RSAKeyProvider {
+
+		public Rsa(Map<String, RSAPublicKey> publicKeys, RSAPrivateKey privateKey, String privateKeyId) {
+			super(publicKeys, privateKey, privateKeyId);
+		}
+	}
+}
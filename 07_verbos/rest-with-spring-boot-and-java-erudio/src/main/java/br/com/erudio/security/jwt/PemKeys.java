@@ -0,0 +1,42 @@
+package br.com.erudio.security.jwt;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+public class PemKeys {
+
+	private PemKeys() {}
+
+	public static PrivateKey readPrivateKey(String path, String keyAlgorithm) {
+		try {
+			return KeyFactory.getInstance(keyAlgorithm)
+					.generatePrivate(new PKCS8EncodedKeySpec(decode(path, "PRIVATE KEY")));
+		} catch (Exception e) {
+			throw new IllegalStateException("Não foi possivel ler a chave privada " + path, e);
+		}
+	}
+
+	public static PublicKey readPublicKey(String path, String keyAlgorithm) {
+		try {
+			return KeyFactory.getInstance(keyAlgorithm)
+					.generatePublic(new X509EncodedKeySpec(decode(path, "PUBLIC KEY")));
+		} catch (Exception e) {
+			throw new IllegalStateException("Não foi possivel ler a chave publica " + path, e);
+		}
+	}
+
+	private static byte[] decode(String path, String type) throws Exception {
+		String pem = Files.readString(Path.of(path));
+		String base64 = pem
+				.replace("-----BEGIN " + type + "-----", "")
+				.replace("-----END " + type + "-----", "")
+				.replaceAll("\\s", "");
+		return Base64.getDecoder().decode(base64);
+	}
+}
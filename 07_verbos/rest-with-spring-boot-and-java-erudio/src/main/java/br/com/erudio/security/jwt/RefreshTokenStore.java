@@ -0,0 +1,128 @@
+package br.com.erudio.security.jwt;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.erudio.exceptions.InvalidJwtAuthenticationException;
+import br.com.erudio.model.RefreshToken;
+import br.com.erudio.repositories.RefreshTokenRepository;
+
+/**
+ * Registro dos refresh tokens emitidos. Cada refresh token so pode ser usado uma vez;
+ * reutilizar um token ja consumido revoga toda a familia (a cadeia de rotacoes iniciada
+ * no signin). O consumo e um UPDATE condicional (consumed = false) na transacao da
+ * requisicao, entao dois nos nunca aceitam o mesmo token e o reuso e detectado mesmo
+ * quando o primeiro uso aconteceu em outro no.
+ * <p>
+ * Na frente do banco fica um registro em memoria, deste no, dos tokens ja consumidos e
+ * das familias revogadas, preenchido depois do commit e limpo quando os tokens expiram:
+ * um token sabidamente invalido e recusado sem ida ao banco. A memoria so guarda
+ * negativas confirmadas pelo banco; o que nao esta nela continua sendo decidido pelo
+ * UPDATE condicional.
+ */
+@Component
+public class RefreshTokenStore {
+
+	private Logger logger = Logger.getLogger(RefreshTokenStore.class.getName());
+
+	@Autowired
+	RefreshTokenRepository repository;
+
+	private final Map<String, Long> consumedTokens = new ConcurrentHashMap<>();
+	private final Map<String, Long> revokedFamilies = new ConcurrentHashMap<>();
+	private final Map<String, Long> familyExpirations = new ConcurrentHashMap<>();
+
+	@Scheduled(fixedDelayString = "${security.jwt.refresh.purge-interval:30000}")
+	public void purgeExpired() {
+		long now = System.currentTimeMillis();
+		consumedTokens.values().removeIf(expiresAt -> expiresAt < now);
+		revokedFamilies.values().removeIf(expiresAt -> expiresAt < now);
+		familyExpirations.values().removeIf(expiresAt -> expiresAt < now);
+		try {
+			repository.deleteExpired(new Date());
+		} catch (Exception e) {
+			logger.warning("Não foi possivel remover os refresh tokens expirados: " + e.getMessage());
+		}
+	}
+
+	@Transactional
+	public void register(String tokenId, String familyId, String username, Date expiresAt) {
+		repository.save(new RefreshToken(tokenId, familyId, username, expiresAt));
+		afterCommit(() -> {
+			consumedTokens.remove(tokenId);
+			familyExpirations.merge(familyId, expiresAt.getTime(), Math::max);
+		});
+	}
+
+	/**
+	 * Marca o token como consumido. Tokens ja consumidos ou de familias revogadas que este
+	 * no conhece sao recusados pela memoria; o reuso de um token consumido ainda revoga a
+	 * familia no banco. Se o UPDATE nao alterar nenhuma linha o token e desconhecido,
+	 * expirado, revogado ou ja usado; neste ultimo caso a familia inteira e revogada na
+	 * mesma transacao, que nao e desfeita pela InvalidJwtAuthenticationException.
+	 */
+	@Transactional(noRollbackFor = InvalidJwtAuthenticationException.class)
+	public void consume(String tokenId, String familyId, Date expiresAt) {
+		if (tokenId == null || familyId == null || expiresAt == null) {
+			throw new InvalidJwtAuthenticationException("Refresh token invalido");
+		}
+		if (revokedFamilies.containsKey(familyId)) {
+			throw new InvalidJwtAuthenticationException("Refresh token invalido");
+		}
+		if (consumedTokens.containsKey(tokenId)) {
+			revokeFamily(familyId, expiresAt);
+			throw new InvalidJwtAuthenticationException("Refresh token reutilizado, sessão revogada");
+		}
+		if (repository.consume(tokenId, familyId, new Date()) == 1) {
+			afterCommit(() -> consumedTokens.put(tokenId, expiresAt.getTime()));
+			return;
+		}
+
+		RefreshToken token = repository.findByTokenId(tokenId);
+		if (token != null && familyId.equals(token.getFamilyId())) {
+			if (Boolean.TRUE.equals(token.getRevoked())) {
+				afterCommit(() -> revokedFamilies.merge(familyId, expirationOf(familyId, expiresAt), Math::max));
+			} else if (Boolean.TRUE.equals(token.getConsumed())) {
+				revokeFamily(familyId, expiresAt);
+				throw new InvalidJwtAuthenticationException("Refresh token reutilizado, sessão revogada");
+			}
+		}
+		throw new InvalidJwtAuthenticationException("Refresh token invalido");
+	}
+
+	private void revokeFamily(String familyId, Date expiresAt) {
+		logger.warning("Reuso de refresh token detectado, revogando a familia " + familyId);
+		repository.revokeFamily(familyId);
+		afterCommit(() -> revokedFamilies.merge(familyId, expirationOf(familyId, expiresAt), Math::max));
+	}
+
+	/**
+	 * A familia pode ser esquecida quando o ultimo token emitido nela expira; se este no
+	 * nao emitiu nenhum, vale a expiracao do token apresentado e os mais novos vao ao banco.
+	 */
+	private long expirationOf(String familyId, Date expiresAt) {
+		return Math.max(expiresAt.getTime(), familyExpirations.getOrDefault(familyId, 0L));
+	}
+
+	private void afterCommit(Runnable change) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			change.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				change.run();
+			}
+		});
+	}
+}
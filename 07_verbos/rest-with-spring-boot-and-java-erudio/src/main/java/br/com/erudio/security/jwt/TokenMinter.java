@@ -0,0 +1,140 @@
+package br.com.erudio.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import com.auth0.jwt.algorithms.Algorithm;
+
+/**
+ * Emite o par access/refresh token sem passar pelo JWTCreator: o header codificado e
+ * calculado uma vez e os claims comuns (sub, roles, iat) sao serializados uma unica vez
+ * para os dois tokens. Os tokens gerados sao validados normalmente pelo JWTVerifier.
+ */
+public class TokenMinter {
+
+	private static final Base64.Encoder BASE64 = Base64.getUrlEncoder().withoutPadding();
+
+	private final Algorithm algorithm;
+	private final byte[] encodedHeader;
+	private final String encodedHeaderString;
+
+	public TokenMinter(Algorithm algorithm) {
+		this.algorithm = algorithm;
+		StringBuilder header = new StringBuilder("{\"alg\":");
+		appendString(header, algorithm.getName());
+		header.append(",\"typ\":\"JWT\"");
+		if (algorithm.getSigningKeyId() != null) {
+			header.append(",\"kid\":");
+			appendString(header, algorithm.getSigningKeyId());
+		}
+		header.append('}');
+		this.encodedHeader = BASE64.encode(header.toString().getBytes(StandardCharsets.UTF_8));
+		this.encodedHeaderString = new String(encodedHeader, StandardCharsets.US_ASCII);
+	}
+
+	public MintedTokens mint(String username, List<String> roles, String issuer, Date now,
+			Date accessExpiresAt, Date refreshExpiresAt, String family, String tokenId) {
+		StringBuilder claims = new StringBuilder(128);
+		claims.append("{\"sub\":");
+		appendString(claims, username);
+		claims.append(",\"roles\":");
+		appendList(claims, roles);
+		claims.append(",\"iat\":").append(seconds(now));
+		String commonClaims = claims.toString();
+
+		StringBuilder access = new StringBuilder(commonClaims.length() + 64).append(commonClaims);
+		access.append(",\"exp\":").append(seconds(accessExpiresAt));
+		if (issuer != null) {
+			access.append(",\"iss\":");
+			appendString(access, issuer);
+		}
+		access.append('}');
+
+		StringBuilder refresh = new StringBuilder(commonClaims.length() + 96).append(commonClaims);
+		refresh.append(",\"exp\":").append(seconds(refreshExpiresAt));
+		refresh.append(",\"family\":");
+		appendString(refresh, family);
+		refresh.append(",\"jti\":");
+		appendString(refresh, tokenId);
+		refresh.append('}');
+
+		return new MintedTokens(sign(access), sign(refresh));
+	}
+
+	private String sign(CharSequence payloadJson) {
+		byte[] payload = BASE64.encode(payloadJson.toString().getBytes(StandardCharsets.UTF_8));
+		byte[] signature = BASE64.encode(algorithm.sign(encodedHeader, payload));
+
+		return new StringBuilder(encodedHeader.length + payload.length + signature.length + 2)
+				.append(encodedHeaderString)
+				.append('.')
+				.append(new String(payload, StandardCharsets.US_ASCII))
+				.append('.')
+				.append(new String(signature, StandardCharsets.US_ASCII))
+				.toString();
+	}
+
+	private static long seconds(Date date) {
+		return date.getTime() / 1000;
+	}
+
+	private static void appendList(StringBuilder json, List<String> values) {
+		if (values == null) {
+			json.append("null");
+			return;
+		}
+		json.append('[');
+		for (int i = 0; i < values.size(); i++) {
+			if (i > 0) json.append(',');
+			appendString(json, values.get(i));
+		}
+		json.append(']');
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		if (value == null) {
+			json.append("null");
+			return;
+		}
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> json.append("\\\"");
+				case '\\' -> json.append("\\\\");
+				case '\n' -> json.append("\\n");
+				case '\r' -> json.append("\\r");
+				case '\t' -> json.append("\\t");
+				default -> {
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", (int) c));
+					} else {
+						json.append(c);
+					}
+				}
+			}
+		}
+		json.append('"');
+	}
+
+	public static class MintedTokens {
+
+		private final String accessToken;
+		private final String refreshToken;
+
+		public MintedTokens(String accessToken, String refreshToken) {
+			this.accessToken = accessToken;
+			this.refreshToken = refreshToken;
+		}
+
+		public String getAccessToken() {
+			return accessToken;
+		}
+
+		public String getRefreshToken() {
+			return refreshToken;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package br.com.erudio.security.jwt;
+
+import java.util.Collections;
+import java.util.List;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+public class VerifiedToken {
+
+	private final String subject;
+	private final List<String> roles;
+	private final long expiresAt;
+
+	public VerifiedToken(String subject, List<String> roles, long expiresAt) {
+		this.subject = subject;
+		this.roles = roles == null ? Collections.emptyList() : Collections.unmodifiableList(roles);
+		this.expiresAt = expiresAt;
+	}
+
+	public static VerifiedToken of(DecodedJWT decodedJWT) {
+		return new VerifiedToken(
+				decodedJWT.getSubject(),
+				decodedJWT.getClaim("roles").asList(String.class),
+				decodedJWT.getExpiresAt().getTime());
+	}
+
+	public String getSubject() {
+		return subject;
+	}
+
+	public List<String> getRoles() {
+		return roles;
+	}
+
+	public long getExpiresAt() {
+		return expiresAt;
+	}
+
+	public boolean isExpired(long now) {
+		return expiresAt <= now;
+	}
+}
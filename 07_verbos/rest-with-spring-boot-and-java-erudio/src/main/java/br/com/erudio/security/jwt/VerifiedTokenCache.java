@@ -0,0 +1,103 @@
+package br.com.erudio.security.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tokens ja verificados, indexados pelo SHA-256 do token (o token em si nunca fica em memoria).
+ * Entradas saem do cache quando expiram; com o cache cheio, as expiradas sao removidas
+ * e, se ainda nao houver espaco, o token apenas nao e cacheado.
+ */
+@Component
+public class VerifiedTokenCache {
+
+	private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	private final int maxSize;
+
+	public VerifiedTokenCache(
+			@Value("${security.jwt.token.cache.max-size:10000}") int maxSize,
+			MeterRegistry registry) {
+		this.maxSize = maxSize;
+
+		FunctionCounter.builder("security.jwt.cache.requests", hits, LongAdder::doubleValue)
+			.tag("result", "hit")
+			.register(registry);
+		FunctionCounter.builder("security.jwt.cache.requests", misses, LongAdder::doubleValue)
+			.tag("result", "miss")
+			.register(registry);
+		Gauge.builder("security.jwt.cache.size", tokens, Map::size)
+			.register(registry);
+	}
+
+	public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+		String key = hash(token);
+		long now = System.currentTimeMillis();
+
+		VerifiedToken cached = tokens.get(key);
+		if (cached != null) {
+			if (!cached.isExpired(now)) {
+				hits.increment();
+				return cached;
+			}
+			tokens.remove(key, cached);
+		}
+
+		misses.increment();
+		VerifiedToken verified = verifier.apply(token);
+		if (!verified.isExpired(now)) {
+			put(key, verified, now);
+		}
+		return verified;
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public int size() {
+		return tokens.size();
+	}
+
+	private void put(String key, VerifiedToken verified, long now) {
+		if (tokens.size() >= maxSize) {
+			evictExpired(now);
+			if (tokens.size() >= maxSize) return;
+		}
+		tokens.put(key, verified);
+	}
+
+	private void evictExpired(long now) {
+		tokens.values().removeIf(t -> t.isExpired(now));
+	}
+
+	private static String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hashed = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+			return Base64.getEncoder().withoutPadding().encodeToString(hashed);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 indisponivel", e);
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package br.com.erudio.security.metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+/**
+ * Marcador inserido antes de cada filtro da SecurityFilterChain. Registra em security.filter
+ * apenas o tempo gasto no filtro seguinte: o tempo medido pelo proximo marcador (filtros
+ * seguintes e controller) e descontado. Os filtros originais continuam na cadeia com o
+ * proprio tipo, sem embrulho.
+ */
+public class SecurityFilterTimingMarker implements Filter {
+
+	private static final String DOWNSTREAM = SecurityFilterTimingMarker.class.getName() + ".DOWNSTREAM";
+
+	private final Timer timer;
+
+	private SecurityFilterTimingMarker(Timer timer) {
+		this.timer = timer;
+	}
+
+	/**
+	 * Devolve os filtros intercalados com marcadores; o ultimo marcador apenas mede o
+	 * controller para que ele nao seja contado no ultimo filtro.
+	 */
+	public static List<Filter> interleave(List<Filter> filters, MeterRegistry registry) {
+		List<Filter> interleaved = new ArrayList<>(filters.size() * 2 + 1);
+		for (Filter filter : filters) {
+			interleaved.add(new SecurityFilterTimingMarker(Timer.builder("security.filter")
+					.tag("filter", filter.getClass().getSimpleName())
+					.register(registry)));
+			interleaved.add(filter);
+		}
+		interleaved.add(new SecurityFilterTimingMarker(null));
+		return interleaved;
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		request.removeAttribute(DOWNSTREAM);
+		long start = System.nanoTime();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			long elapsed = System.nanoTime() - start;
+			if (timer != null) {
+				long downstream = request.getAttribute(DOWNSTREAM) instanceof Long nested ? nested : 0L;
+				timer.record(elapsed - downstream, TimeUnit.NANOSECONDS);
+			}
+			request.setAttribute(DOWNSTREAM, elapsed);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package br.com.erudio.security.password;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+
+/**
+ * PBKDF2 que grava o numero de iteracoes junto do hash ("iteracoes$hash"), permitindo
+ * que cada deploy escolha o proprio custo sem invalidar as senhas ja armazenadas. Como a
+ * calibracao varia de um no para outro, so hashes abaixo do piso comum
+ * (security.password.min-iterations) sao refeitos; do contrario nos com custos diferentes
+ * regravariam a mesma senha a cada login.
+ */
+public class CalibratedPbkdf2PasswordEncoder implements PasswordEncoder {
+
+	private static final int SALT_LENGTH = 8;
+	private static final char SEPARATOR = '$';
+
+	private final int iterations;
+
+	private final int minIterations;
+
+	private final Map<Integer, Pbkdf2PasswordEncoder> encoders = new ConcurrentHashMap<>();
+
+	public CalibratedPbkdf2PasswordEncoder(int iterations) {
+		this(iterations, iterations);
+	}
+
+	public CalibratedPbkdf2PasswordEncoder(int iterations, int minIterations) {
+		this.iterations = iterations;
+		this.minIterations = Math.min(minIterations, iterations);
+	}
+
+	public static int calibrate(long latencyBudgetMillis, int minIterations, int maxIterations) {
+		int probeIterations = 10000;
+		Pbkdf2PasswordEncoder probe = newEncoder(probeIterations);
+
+		long fastest = Long.MAX_VALUE;
+		for (int i = 0; i < 5; i++) {
+			long start = System.nanoTime();
+			probe.encode("calibration");
+			fastest = Math.min(fastest, System.nanoTime() - start);
+		}
+
+		long iterations = latencyBudgetMillis * 1_000_000L * probeIterations / Math.max(fastest, 1);
+		return (int) Math.max(minIterations, Math.min(maxIterations, iterations));
+	}
+
+	public int getIterations() {
+		return iterations;
+	}
+
+	public int getMinIterations() {
+		return minIterations;
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return iterations + String.valueOf(SEPARATOR) + encoderFor(iterations).encode(rawPassword);
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		int storedIterations = iterationsOf(encodedPassword);
+		if (storedIterations <= 0) return false;
+		return encoderFor(storedIterations)
+				.matches(rawPassword, encodedPassword.substring(encodedPassword.indexOf(SEPARATOR) + 1));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		return iterationsOf(encodedPassword) < minIterations;
+	}
+
+	private Pbkdf2PasswordEncoder encoderFor(int iterations) {
+		return encoders.computeIfAbsent(iterations, CalibratedPbkdf2PasswordEncoder::newEncoder);
+	}
+
+	private static Pbkdf2PasswordEncoder newEncoder(int iterations) {
+		return new Pbkdf2PasswordEncoder("", SALT_LENGTH, iterations, SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+	}
+
+	private static int iterationsOf(String encodedPassword) {
+		if (encodedPassword == null) return -1;
+		int separator = encodedPassword.indexOf(SEPARATOR);
+		if (separator <= 0) return -1;
+		try {
+			return Integer.parseInt(encodedPassword, 0, separator, 10);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package br.com.erudio.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Totais aproximados para listagens paginadas (total=approximate). A leitura nunca executa o
+ * COUNT: devolve o ultimo valor conhecido (ou null se ainda nao houver) e, quando o valor
+ * esta vencido, agenda a recontagem em segundo plano. Cada chave tem no maximo uma
+ * recontagem pendente, a fila tem paging.count.queue-capacity posicoes e, com
+ * paging.count.max-entries chaves em cache, chaves novas ficam sem total ate alguma vencer.
+ */
+@Component
+public class ApproximateCountCache {
+
+	private Logger logger = Logger.getLogger(ApproximateCountCache.class.getName());
+
+	private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+	private final Map<String, Boolean> refreshing = new ConcurrentHashMap<>();
+
+	private final ExecutorService counter;
+
+	private final long ttlMillis;
+	private final int maxEntries;
+
+	public ApproximateCountCache(
+			@Value("${paging.count.ttl:60000}") long ttlMillis,
+			@Value("${paging.count.max-entries:1000}") int maxEntries,
+			@Value("${paging.count.queue-capacity:16}") int queueCapacity) {
+		this.ttlMillis = ttlMillis;
+		this.maxEntries = maxEntries;
+		this.counter = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("approximate-count-"));
+	}
+
+	public Long get(String key, LongSupplier count) {
+		long now = System.currentTimeMillis();
+		CachedCount cached = counts.get(key);
+		if (cached == null || now - cached.refreshedAt > ttlMillis) {
+			refresh(key, count);
+		}
+		return cached == null ? null : cached.value;
+	}
+
+	private void refresh(String key, LongSupplier count) {
+		if (!hasRoomFor(key)) return;
+		if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) return;
+		try {
+			counter.execute(() -> {
+				try {
+					counts.put(key, new CachedCount(count.getAsLong(), System.currentTimeMillis()));
+				} catch (Exception e) {
+					logger.warning("Não foi possivel atualizar o total de " + key + ": " + e.getMessage());
+				} finally {
+					refreshing.remove(key);
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			refreshing.remove(key);
+		}
+	}
+
+	/**
+	 * Chaves em cache mais recontagens pendentes nunca passam de max-entries; contagens
+	 * vencidas sao descartadas para abrir espaco.
+	 */
+	private boolean hasRoomFor(String key) {
+		if (counts.containsKey(key) || counts.size() + refreshing.size() < maxEntries) return true;
+		long now = System.currentTimeMillis();
+		counts.values().removeIf(cached -> now - cached.refreshedAt > ttlMillis);
+		return counts.size() + refreshing.size() < maxEntries;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		counter.shutdown();
+	}
+
+	private static class CachedCount {
+
+		private final long value;
+		private final long refreshedAt;
+
+		CachedCount(long value, long refreshedAt) {
+			this.value = value;
+			this.refreshedAt = refreshedAt;
+		}
+	}
+}
@@ -1,5 +1,13 @@
 package br.com.erudio.services;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,6 +18,7 @@ import org.springframework.stereotype.Service;
 
 import br.com.erudio.data.vo.v1.security.AccountCredentialsVO;
 import br.com.erudio.data.vo.v1.security.TokenVO;
+import br.com.erudio.model.User;
 import br.com.erudio.repositories.UserRepository;
 import br.com.erudio.security.jwt.JwtTokenProvider;
 
@@ -25,21 +34,70 @@ public class AuthServices {
 	@Autowired
 	private UserRepository repository;
 	
+	@Autowired
+	private SigninExecutor signinExecutor;
+	
+	@SuppressWarnings("rawtypes")
+	private final Map<String, CompletableFuture<ResponseEntity>> signinsInFlight = new ConcurrentHashMap<>();
+	
+	@SuppressWarnings("rawtypes")
+	public CompletableFuture<ResponseEntity> signin(AccountCredentialsVO data) {
+		// Tentativas simultaneas com as mesmas credenciais compartilham uma unica verificacao
+		var credentials = new AccountCredentialsVO(data.getUsername(), data.getPassword());
+		// O emissor depende da requisicao, que nao esta disponivel na thread do executor
+		var issuer = tokenProvider.currentIssuer();
+		var key = signinKey(credentials, issuer);
+		var signin = new CompletableFuture<ResponseEntity>();
+		var inFlight = signinsInFlight.putIfAbsent(key, signin);
+		if (inFlight != null) return inFlight;
+		
+		try {
+			signinExecutor.submit(() -> authenticate(credentials, issuer)).whenComplete((response, ex) -> {
+				signinsInFlight.remove(key, signin);
+				if (ex != null) signin.completeExceptionally(ex);
+				else signin.complete(response);
+			});
+		} catch (RuntimeException e) {
+			signinsInFlight.remove(key, signin);
+			signin.completeExceptionally(e);
+			throw e;
+		}
+		return signin;
+	}
+	
+	/**
+	 * Chave do mapa de signins em andamento: SHA-256 de usuario, senha e emissor, para que a
+	 * senha em texto puro nao fique guardada como chave de um mapa compartilhado.
+	 */
+	private static String signinKey(AccountCredentialsVO credentials, String issuer) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256");
+			for (String part : new String[] {credentials.getUsername(), credentials.getPassword(), issuer}) {
+				digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+			}
+			return Base64.getEncoder().encodeToString(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 	
 	@SuppressWarnings("rawtypes")
-	public ResponseEntity signin(AccountCredentialsVO data) {
+	private ResponseEntity authenticate(AccountCredentialsVO data, String issuer) {
 		try {
 			var username = data.getUsername();
 			var password = data.getPassword();
-			authenticationManager.authenticate(
-					new UsernamePasswordAuthenticationToken(username, password));
+			var authentication = signinExecutor.timeHash(() -> authenticationManager.authenticate(
+					new UsernamePasswordAuthenticationToken(username, password)));
 			
-			var user = repository.findByUsername(username);
+			var user = authentication.getPrincipal() instanceof User principal
+					? principal
+					: repository.findByUsername(username);
 			
 			var tokenResponse = new TokenVO();
 			
 			if (user != null) {
-				tokenResponse = tokenProvider.createAccessToken(username, user.getRoles());
+				tokenResponse = tokenProvider.createAccessToken(username, user.getRoles(), issuer);
 			} else {
 				throw new UsernameNotFoundException("Usuario não encontrado");
 			}
@@ -52,16 +110,7 @@ public class AuthServices {
 
 	@SuppressWarnings("rawtypes")
 	public ResponseEntity refreshToken(String username, String refreshToken) {
-		var user = repository.findByUsername(username);
-
-		var tokenResponse = new TokenVO();
-
-		if (user != null) {
-			tokenResponse = tokenProvider.refreshToken(refreshToken);
-		} else {
-			throw new UsernameNotFoundException("Usuario não encontrado");
-		}
-
+		var tokenResponse = tokenProvider.refreshToken(username, refreshToken);
 		return ResponseEntity.ok(tokenResponse);
 	}
 }
@@ -0,0 +1,102 @@
+package br.com.erudio.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.repositories.BookRepository;
+
+/**
+ * Catalogo de livros em memoria (book.catalog.enabled). As leituras de BookServices usam o
+ * BookCatalogSnapshot atual sem passar pelo JPA; create/update/patch/delete aplicam a
+ * alteracao num novo snapshot depois do commit e a cada book.catalog.reconcile-interval o
+ * catalogo e relido do banco para receber alteracoes feitas fora da aplicacao. As
+ * alteracoes que chegam durante a releitura sao reaplicadas sobre o snapshot relido.
+ */
+@Component
+public class BookCatalog {
+
+	private Logger logger = Logger.getLogger(BookCatalog.class.getName());
+
+	private final BookRepository bookRepository;
+	private final boolean enabled;
+
+	private volatile BookCatalogSnapshot snapshot;
+	private List<UnaryOperator<BookCatalogSnapshot>> pending;
+
+	public BookCatalog(BookRepository bookRepository,
+			@Value("${book.catalog.enabled:false}") boolean enabled) {
+		this.bookRepository = bookRepository;
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Snapshot atual, ou null se o catalogo estiver desligado ou ainda nao tiver sido
+	 * carregado; nesse caso as leituras vao ao banco.
+	 */
+	public BookCatalogSnapshot snapshot() {
+		return snapshot;
+	}
+
+	@Scheduled(fixedDelayString = "${book.catalog.reconcile-interval:300000}")
+	public void reconcile() {
+		if (!enabled) return;
+		synchronized (this) {
+			if (pending != null) return;
+			pending = new ArrayList<>();
+		}
+		try {
+			var reloaded = BookCatalogSnapshot.of(bookRepository.findCatalog());
+			synchronized (this) {
+				for (var change : pending) {
+					reloaded = change.apply(reloaded);
+				}
+				snapshot = reloaded;
+			}
+			logger.fine("Catálogo de livros recarregado com " + reloaded.size() + " livros");
+		} catch (RuntimeException e) {
+			logger.warning("Não foi possivel recarregar o catálogo de livros: " + e.getMessage());
+		} finally {
+			synchronized (this) {
+				pending = null;
+			}
+		}
+	}
+
+	public void put(BookVO book) {
+		var copy = new BookVO(book.getKey(), book.getAuthor(), book.getLaunchDate(),
+				book.getPrice(), book.getTitle(), book.getVersion());
+		afterCommit(() -> apply(catalog -> catalog.with(copy)));
+	}
+
+	public void remove(long id) {
+		afterCommit(() -> apply(catalog -> catalog.without(id)));
+	}
+
+	private synchronized void apply(UnaryOperator<BookCatalogSnapshot> change) {
+		if (pending != null) pending.add(change);
+		if (snapshot != null) snapshot = change.apply(snapshot);
+	}
+
+	private void afterCommit(Runnable change) {
+		if (!enabled) return;
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			change.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				change.run();
+			}
+		});
+	}
+}
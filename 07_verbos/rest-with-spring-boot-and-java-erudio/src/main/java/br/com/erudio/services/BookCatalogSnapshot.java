@@ -0,0 +1,403 @@
+package br.com.erudio.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import br.com.erudio.data.vo.v1.BookVO;
+
+/**
+ * Copia imutavel do catalogo de livros em arrays paralelos ordenados por id, com um indice
+ * ordenado (e o rank inverso) para cada propriedade de ordenacao da listagem: titulo,
+ * autor, preco e data de lancamento, sempre com o id como desempate, na mesma ordem das
+ * consultas. Alteracoes geram um novo snapshot copiando os arrays e inserindo a linha
+ * alterada nos indices por busca binaria, sem reordenar o catalogo inteiro.
+ * <p>
+ * Titulo e autor sao comparados com String.CASE_INSENSITIVE_ORDER, que coincide com a
+ * collation padrao da tabela books (latin1, latin1_swedish_ci) apenas para texto ASCII sem
+ * espacos no final. Letras acentuadas (a collation trata "e" e "é" como iguais e poe "Å",
+ * "Ä" e "Ö" depois do "Z") e espacos finais (ignorados pelo MySQL) podem sair em outra
+ * ordem, e os filtros por prefixo diferenciam acentos. Com o catalogo ligado, listagens e
+ * pesquisas com esses valores podem divergir das consultas ao banco.
+ */
+public final class BookCatalogSnapshot {
+
+	private static final Comparator<String> TEXT = Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER);
+	private static final long NO_DATE = Long.MIN_VALUE;
+
+	private enum Order {
+		TITLE("title"), AUTHOR("author"), PRICE("price"), LAUNCH_DATE("launchDate");
+
+		private final String property;
+
+		Order(String property) {
+			this.property = property;
+		}
+
+		static Order of(String property) {
+			for (Order order : values()) {
+				if (order.property.equals(property)) return order;
+			}
+			return null;
+		}
+	}
+
+	private final long[] ids;
+	private final String[] authors;
+	private final String[] titles;
+	private final double[] prices;
+	private final long[] launchDates;
+	private final long[] versions;
+
+	private final int[][] orders = new int[Order.values().length][];
+	private final int[][] ranks = new int[Order.values().length][];
+
+	private BookCatalogSnapshot(int size) {
+		this.ids = new long[size];
+		this.authors = new String[size];
+		this.titles = new String[size];
+		this.prices = new double[size];
+		this.launchDates = new long[size];
+		this.versions = new long[size];
+	}
+
+	public static BookCatalogSnapshot of(Collection<BookVO> books) {
+		Map<Long, BookVO> byId = new TreeMap<>();
+		for (BookVO book : books) {
+			byId.merge(book.getKey(), book, (current, other) -> versionOf(other) >= versionOf(current) ? other : current);
+		}
+
+		var snapshot = new BookCatalogSnapshot(byId.size());
+		int position = 0;
+		for (BookVO book : byId.values()) {
+			snapshot.set(position++, book);
+		}
+		for (Order order : Order.values()) {
+			snapshot.orders[order.ordinal()] = IntStream.range(0, snapshot.size()).boxed()
+					.sorted((a, b) -> snapshot.compare(order, a, b))
+					.mapToInt(Integer::intValue)
+					.toArray();
+		}
+		snapshot.computeRanks();
+		return snapshot;
+	}
+
+	public int size() {
+		return ids.length;
+	}
+
+	/**
+	 * Novo snapshot com o livro inserido ou substituido. Uma versao mais antiga que a do
+	 * snapshot e ignorada, entao reaplicar uma alteracao ja conhecida nao tem efeito.
+	 */
+	public BookCatalogSnapshot with(BookVO book) {
+		int found = Arrays.binarySearch(ids, book.getKey());
+		if (found >= 0) {
+			if (versions[found] > versionOf(book)) return this;
+
+			var snapshot = new BookCatalogSnapshot(size());
+			snapshot.copyRows(this, 0, 0, size());
+			snapshot.set(found, book);
+			for (Order order : Order.values()) {
+				int[] base = removePosition(orders[order.ordinal()], found, 0);
+				snapshot.orders[order.ordinal()] = snapshot.insertPosition(order, base, found);
+			}
+			snapshot.computeRanks();
+			return snapshot;
+		}
+
+		int position = -found - 1;
+		var snapshot = new BookCatalogSnapshot(size() + 1);
+		snapshot.copyRows(this, 0, 0, position);
+		snapshot.copyRows(this, position, position + 1, size() - position);
+		snapshot.set(position, book);
+		for (Order order : Order.values()) {
+			int[] base = orders[order.ordinal()].clone();
+			for (int i = 0; i < base.length; i++) {
+				if (base[i] >= position) base[i]++;
+			}
+			snapshot.orders[order.ordinal()] = snapshot.insertPosition(order, base, position);
+		}
+		snapshot.computeRanks();
+		return snapshot;
+	}
+
+	public BookCatalogSnapshot without(long id) {
+		int position = Arrays.binarySearch(ids, id);
+		if (position < 0) return this;
+
+		var snapshot = new BookCatalogSnapshot(size() - 1);
+		snapshot.copyRows(this, 0, 0, position);
+		snapshot.copyRows(this, position + 1, position, size() - position - 1);
+		for (Order order : Order.values()) {
+			snapshot.orders[order.ordinal()] = removePosition(orders[order.ordinal()], position, -1);
+		}
+		snapshot.computeRanks();
+		return snapshot;
+	}
+
+	public BookVO find(long id) {
+		int position = Arrays.binarySearch(ids, id);
+		return position < 0 ? null : toVO(position);
+	}
+
+	public Page<BookVO> findAll(Pageable pageable) {
+		return search(null, null, null, null, null, null, pageable);
+	}
+
+	/**
+	 * Proximos livros depois do id informado na ordem da chave primaria (ou antes dele, em
+	 * ordem decrescente), como findPageAfter/findPageBefore do repositorio.
+	 */
+	public List<BookVO> findAfter(long id, int limit, Sort.Direction direction) {
+		int found = Arrays.binarySearch(ids, id);
+		List<BookVO> books = new ArrayList<>(Math.min(limit, size()));
+		if (direction.isAscending()) {
+			for (int p = found >= 0 ? found + 1 : -found - 1; p < size() && books.size() < limit; p++) {
+				books.add(toVO(p));
+			}
+		} else {
+			for (int p = found >= 0 ? found - 1 : -found - 2; p >= 0 && books.size() < limit; p--) {
+				books.add(toVO(p));
+			}
+		}
+		return books;
+	}
+
+	/**
+	 * Mesma semantica de BookSpecifications.search. Os candidatos saem da menor faixa entre
+	 * os indices dos filtros informados (ou do indice da ordenacao, se nao houver filtro
+	 * mais seletivo), os demais filtros sao testados linha a linha e o resultado e posto na
+	 * ordem pedida pelos ranks do indice de ordenacao.
+	 */
+	public Page<BookVO> search(String author, String title, Double minPrice, Double maxPrice,
+			LocalDate launchedFrom, LocalDate launchedTo, Pageable pageable) {
+		var filter = new Filter(author, title, minPrice, maxPrice, launchedFrom, launchedTo);
+		Sort.Order sort = pageable.getSort().stream().findFirst().orElse(null);
+		Order order = sort == null ? null : Order.of(sort.getProperty());
+		boolean descending = sort != null && sort.isDescending();
+
+		int total;
+		IntUnaryOperator rankAt;
+		if (filter.isEmpty()) {
+			total = size();
+			rankAt = i -> i;
+		} else {
+			Range range = filter.narrowest(new Range(order, 0, size()));
+			int[] matches = new int[range.to - range.from];
+			int count = 0;
+			for (int r = range.from; r < range.to; r++) {
+				int position = positionAt(range.order, r);
+				if (filter.matches(position)) matches[count++] = rankOf(order, position);
+			}
+			if (range.order != order) Arrays.sort(matches, 0, count);
+			total = count;
+			rankAt = i -> matches[i];
+		}
+
+		List<BookVO> content = new ArrayList<>(pageable.getPageSize());
+		long end = Math.min(total, pageable.getOffset() + pageable.getPageSize());
+		for (long i = pageable.getOffset(); i < end; i++) {
+			int k = descending ? total - 1 - (int) i : (int) i;
+			content.add(toVO(positionAt(order, rankAt.applyAsInt(k))));
+		}
+		return new PageImpl<>(content, pageable, total);
+	}
+
+	private BookVO toVO(int position) {
+		return new BookVO(ids[position], authors[position],
+				launchDates[position] == NO_DATE ? null : new Date(launchDates[position]),
+				Double.isNaN(prices[position]) ? null : prices[position],
+				titles[position], versions[position]);
+	}
+
+	private void set(int position, BookVO book) {
+		ids[position] = book.getKey();
+		authors[position] = book.getAuthor();
+		titles[position] = book.getTitle();
+		prices[position] = book.getPrice() == null ? Double.NaN : book.getPrice();
+		launchDates[position] = book.getLaunchDate() == null ? NO_DATE : book.getLaunchDate().getTime();
+		versions[position] = versionOf(book);
+	}
+
+	private void copyRows(BookCatalogSnapshot source, int from, int to, int length) {
+		System.arraycopy(source.ids, from, ids, to, length);
+		System.arraycopy(source.authors, from, authors, to, length);
+		System.arraycopy(source.titles, from, titles, to, length);
+		System.arraycopy(source.prices, from, prices, to, length);
+		System.arraycopy(source.launchDates, from, launchDates, to, length);
+		System.arraycopy(source.versions, from, versions, to, length);
+	}
+
+	private void computeRanks() {
+		for (Order order : Order.values()) {
+			int[] index = orders[order.ordinal()];
+			int[] rank = new int[index.length];
+			for (int r = 0; r < index.length; r++) {
+				rank[index[r]] = r;
+			}
+			ranks[order.ordinal()] = rank;
+		}
+	}
+
+	private int compare(Order order, int a, int b) {
+		int result = switch (order) {
+			case TITLE -> TEXT.compare(titles[a], titles[b]);
+			case AUTHOR -> TEXT.compare(authors[a], authors[b]);
+			case PRICE -> Double.compare(prices[a], prices[b]);
+			case LAUNCH_DATE -> Long.compare(launchDates[a], launchDates[b]);
+		};
+		return result != 0 ? result : Long.compare(ids[a], ids[b]);
+	}
+
+	private int positionAt(Order order, int rank) {
+		return order == null ? rank : orders[order.ordinal()][rank];
+	}
+
+	private int rankOf(Order order, int position) {
+		return order == null ? position : ranks[order.ordinal()][position];
+	}
+
+	/**
+	 * Insere a posicao no indice (que ainda nao a contem) pela busca binaria na ordem.
+	 */
+	private int[] insertPosition(Order order, int[] base, int position) {
+		int at = lowerBound(0, base.length, i -> compare(order, base[i], position) > 0);
+		int[] index = new int[base.length + 1];
+		System.arraycopy(base, 0, index, 0, at);
+		index[at] = position;
+		System.arraycopy(base, at, index, at + 1, base.length - at);
+		return index;
+	}
+
+	private static int[] removePosition(int[] index, int position, int shift) {
+		int[] result = new int[index.length - 1];
+		int i = 0;
+		for (int p : index) {
+			if (p == position) continue;
+			result[i++] = p > position ? p + shift : p;
+		}
+		return result;
+	}
+
+	/**
+	 * Primeiro indice em [from, to) para o qual o predicado (monotono) e verdadeiro.
+	 */
+	private static int lowerBound(int from, int to, IntPredicate predicate) {
+		while (from < to) {
+			int middle = (from + to) >>> 1;
+			if (predicate.test(middle)) {
+				to = middle;
+			} else {
+				from = middle + 1;
+			}
+		}
+		return from;
+	}
+
+	private static long versionOf(BookVO book) {
+		return book.getVersion() == null ? 0 : book.getVersion();
+	}
+
+	private static boolean startsWith(String value, String prefix) {
+		return value != null && value.regionMatches(true, 0, prefix, 0, prefix.length());
+	}
+
+	private static String prefix(String value) {
+		return value == null || value.isBlank() ? null : value.trim();
+	}
+
+	private static class Range {
+
+		private final Order order;
+		private final int from;
+		private final int to;
+
+		Range(Order order, int from, int to) {
+			this.order = order;
+			this.from = from;
+			this.to = to;
+		}
+
+		Range narrower(Range other) {
+			return other.to - other.from < to - from ? other : this;
+		}
+	}
+
+	private class Filter {
+
+		private final String author;
+		private final String title;
+		private final Double minPrice;
+		private final Double maxPrice;
+		private final Long launchedFrom;
+		private final Long launchedBefore;
+
+		Filter(String author, String title, Double minPrice, Double maxPrice,
+				LocalDate launchedFrom, LocalDate launchedTo) {
+			this.author = prefix(author);
+			this.title = prefix(title);
+			this.minPrice = minPrice;
+			this.maxPrice = maxPrice;
+			this.launchedFrom = launchedFrom == null ? null : java.sql.Date.valueOf(launchedFrom).getTime();
+			this.launchedBefore = launchedTo == null ? null : java.sql.Date.valueOf(launchedTo.plusDays(1)).getTime();
+		}
+
+		boolean isEmpty() {
+			return author == null && title == null && minPrice == null && maxPrice == null
+					&& launchedFrom == null && launchedBefore == null;
+		}
+
+		boolean matches(int p) {
+			return (author == null || startsWith(authors[p], author))
+					&& (title == null || startsWith(titles[p], title))
+					&& (minPrice == null || prices[p] >= minPrice)
+					&& (maxPrice == null || prices[p] <= maxPrice)
+					&& (launchedFrom == null || launchDates[p] != NO_DATE && launchDates[p] >= launchedFrom)
+					&& (launchedBefore == null || launchDates[p] != NO_DATE && launchDates[p] < launchedBefore);
+		}
+
+		Range narrowest(Range range) {
+			if (author != null) range = range.narrower(prefixRange(Order.AUTHOR, authors, author));
+			if (title != null) range = range.narrower(prefixRange(Order.TITLE, titles, title));
+			if (minPrice != null || maxPrice != null) {
+				int[] index = orders[Order.PRICE.ordinal()];
+				int from = minPrice == null ? 0
+						: lowerBound(0, size(), r -> Double.compare(prices[index[r]], minPrice) >= 0);
+				int to = maxPrice == null ? size()
+						: lowerBound(from, size(), r -> Double.compare(prices[index[r]], maxPrice) > 0);
+				range = range.narrower(new Range(Order.PRICE, from, to));
+			}
+			if (launchedFrom != null || launchedBefore != null) {
+				int[] index = orders[Order.LAUNCH_DATE.ordinal()];
+				int from = launchedFrom == null ? 0
+						: lowerBound(0, size(), r -> launchDates[index[r]] >= launchedFrom);
+				int to = launchedBefore == null ? size()
+						: lowerBound(from, size(), r -> launchDates[index[r]] >= launchedBefore);
+				range = range.narrower(new Range(Order.LAUNCH_DATE, from, to));
+			}
+			return range;
+		}
+
+		private Range prefixRange(Order order, String[] column, String prefix) {
+			int[] index = orders[order.ordinal()];
+			int from = lowerBound(0, size(), r -> TEXT.compare(column[index[r]], prefix) >= 0);
+			int to = lowerBound(from, size(), r -> !startsWith(column[index[r]], prefix));
+			return new Range(order, from, to);
+		}
+	}
+}
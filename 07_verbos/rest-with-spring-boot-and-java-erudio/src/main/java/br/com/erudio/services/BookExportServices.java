@@ -0,0 +1,90 @@
+package br.com.erudio.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.model.Book;
+import br.com.erudio.repositories.BookRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Lista todos os livros em NDJSON direto no stream da resposta, um objeto por linha com os
+ * mesmos campos do BookVO. Como em PersonExportServices, as linhas vem de um cursor
+ * somente leitura e o contexto de persistencia e limpo a cada book.export.clear-interval
+ * linhas, entao a lista nunca fica inteira em memoria.
+ */
+@Service
+public class BookExportServices {
+
+	private Logger logger = Logger.getLogger(BookExportServices.class.getName());
+
+	private final BookRepository bookRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	private final int clearInterval;
+
+	public BookExportServices(BookRepository bookRepository, EntityManager entityManager,
+			ObjectMapper objectMapper, @Value("${book.export.clear-interval:1000}") int clearInterval) {
+		this.bookRepository = bookRepository;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+		this.clearInterval = clearInterval;
+	}
+
+	@Transactional(readOnly = true)
+	public long export(OutputStream out) throws IOException {
+		logger.info("Exportando todos os livros!");
+
+		var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+		JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+		generator.setRootValueSeparator(null);
+		generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+		long count = 0;
+		try (Stream<Book> books = bookRepository.streamAll()) {
+			Iterator<Book> iterator = books.iterator();
+			while (iterator.hasNext()) {
+				write(generator, iterator.next());
+				if (++count % clearInterval == 0) {
+					entityManager.clear();
+					generator.flush();
+				}
+			}
+		}
+		generator.flush();
+		return count;
+	}
+
+	private static void write(JsonGenerator generator, Book book) throws IOException {
+		generator.writeStartObject();
+		generator.writeNumberField("id", book.getId());
+		generator.writeStringField("author", book.getAuthor());
+		generator.writeObjectField("launchDate", book.getLaunchDate());
+		if (book.getPrice() == null) {
+			generator.writeNullField("price");
+		} else {
+			generator.writeNumberField("price", book.getPrice());
+		}
+		generator.writeStringField("title", book.getTitle());
+		if (book.getVersion() == null) {
+			generator.writeNullField("version");
+		} else {
+			generator.writeNumberField("version", book.getVersion());
+		}
+		generator.writeEndObject();
+		generator.writeRaw('\n');
+	}
+}
@@ -3,19 +3,41 @@ package br.com.erudio.services;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.erudio.controllers.BookController;
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.exceptions.InvalidPatchException;
 import br.com.erudio.exceptions.RequiredObjectsIsNullException;
+import br.com.erudio.exceptions.ResourceConflictException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
-import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.mapper.BookVOMapper;
 import br.com.erudio.model.Book;
 import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.repositories.BookSpecifications;
+import br.com.erudio.util.KeysetCursor;
+import br.com.erudio.util.MergePatch;
+import br.com.erudio.util.TotalMode;
 
 @Service
 public class BookServices {
@@ -25,21 +47,167 @@ public class BookServices {
 	@Autowired
 	BookRepository bookRepository;
 	
-	public List<BookVO> findAll(){
-		logger.info("Buscando varias pessoas!");
+	@Autowired
+	BookVOMapper mapper;
+	
+	@Autowired
+	PagedResourcesAssembler<BookVO> assembler;
+	
+	@Autowired
+	ApproximateCountCache countCache;
+	
+	@Autowired
+	ObjectMapper objectMapper;
+	
+	@Autowired
+	BookCatalog catalog;
+	
+	/**
+	 * Listagem paginada lida direto em BookVO (constructor expression), sem materializar a
+	 * tabela inteira nem passar cada linha pelo Dozer. O total segue o mesmo TotalMode das
+	 * listagens de pessoas. Com o catalogo em memoria carregado, a pagina sai dele e o total
+	 * e sempre exato.
+	 */
+	@Transactional(readOnly = true)
+	public PagedModel<EntityModel<BookVO>> findAll(Pageable pageable, String sortBy, TotalMode total) {
+		logger.info("Buscando varios livros!");
+		
+		String direction = direction(pageable, sortBy);
+		Link link = linkTo(methodOn(BookController.class)
+				.findAll(pageable.getPageNumber(), pageable.getPageSize(), direction, sortBy, null, total.param()))
+				.withSelfRel();
+		
+		var snapshot = catalog.snapshot();
+		if (snapshot != null) {
+			return assembler.toModel(snapshot.findAll(pageable).map(this::withSelfLink), link);
+		}
+		
+		if (total == TotalMode.EXACT) {
+			return assembler.toModel(bookRepository.findAllVOs(pageable).map(this::withSelfLink), link);
+		}
+		
+		var slice = bookRepository.findSlice(pageable);
+		Long approximateTotal = total == TotalMode.APPROXIMATE
+				? countCache.get("book", bookRepository::count)
+				: null;
+		
+		Link prev = slice.hasPrevious() ? linkTo(methodOn(BookController.class)
+				.findAll(pageable.getPageNumber() - 1, pageable.getPageSize(), direction, sortBy, null, total.param()))
+				.withRel(IanaLinkRelations.PREV) : null;
+		Link next = slice.hasNext() ? linkTo(methodOn(BookController.class)
+				.findAll(pageable.getPageNumber() + 1, pageable.getPageSize(), direction, sortBy, null, total.param()))
+				.withRel(IanaLinkRelations.NEXT) : null;
+		
+		return toPagedModel(slice, approximateTotal, link, prev, next);
+	}
+	
+	/**
+	 * Paginacao por keyset sobre a chave primaria: cada pagina busca os livros depois do
+	 * ultimo id devolvido, sem OFFSET nem COUNT; a resposta traz apenas o link next.
+	 */
+	@Transactional(readOnly = true)
+	public PagedModel<EntityModel<BookVO>> findAll(String cursor, int size, Sort.Direction direction) {
+		logger.info("Buscando varios livros por cursor!");
+		
+		long after = cursor.isBlank()
+				? (direction.isAscending() ? 0L : Long.MAX_VALUE)
+				: KeysetCursor.decode(cursor).getId();
+		var snapshot = catalog.snapshot();
+		Pageable limit = PageRequest.of(0, size + 1);
+		List<BookVO> books = snapshot != null
+				? snapshot.findAfter(after, size + 1, direction)
+				: direction.isAscending()
+						? bookRepository.findPageAfter(after, limit)
+						: bookRepository.findPageBefore(after, limit);
+		
+		boolean hasNext = books.size() > size;
+		if (hasNext) {
+			books = books.subList(0, size);
+		}
+		
+		String directionParam = direction.name().toLowerCase();
+		Link link = linkTo(methodOn(BookController.class)
+				.findAll(null, size, directionParam, null, cursor, null)).withSelfRel();
+		
+		Link next = null;
+		if (hasNext) {
+			String nextCursor = new KeysetCursor(null, books.get(books.size() - 1).getKey()).encode();
+			next = linkTo(methodOn(BookController.class)
+					.findAll(null, size, directionParam, null, nextCursor, null))
+					.withRel(IanaLinkRelations.NEXT);
+		}
+		return toPagedModel(new SliceImpl<>(books, PageRequest.of(0, size), hasNext), null, link, null, next);
+	}
+	
+	/**
+	 * Pesquisa por prefixo de autor/titulo e faixas de preco e data de lancamento; qualquer
+	 * combinacao de filtros e atendida pelos indices de V20.
+	 */
+	@Transactional(readOnly = true)
+	public PagedModel<EntityModel<BookVO>> search(String author, String title, Double minPrice, Double maxPrice,
+			LocalDate launchedFrom, LocalDate launchedTo, Pageable pageable, String sortBy) {
+		logger.info("Pesquisando livros!");
+		
+		var snapshot = catalog.snapshot();
+		var page = snapshot != null
+				? snapshot.search(author, title, minPrice, maxPrice, launchedFrom, launchedTo, pageable)
+						.map(this::withSelfLink)
+				: bookRepository.findAll(
+						BookSpecifications.search(author, title, minPrice, maxPrice, launchedFrom, launchedTo), pageable)
+						.map(entity -> withSelfLink(mapper.toVO(entity)));
+		
+		Link link = linkTo(methodOn(BookController.class)
+				.search(author, title, minPrice, maxPrice, launchedFrom, launchedTo,
+						pageable.getPageNumber(), pageable.getPageSize(), direction(pageable, sortBy), sortBy))
+				.withSelfRel();
+		return assembler.toModel(page, link);
+	}
+	
+	/**
+	 * Mesma montagem de PersonServices: com total conhecido a pagina segue o assembler; sem
+	 * total, so os links prev/next sao emitidos.
+	 */
+	private PagedModel<EntityModel<BookVO>> toPagedModel(
+			Slice<BookVO> slice, Long approximateTotal, Link link, Link prev, Link next) {
+		var bookVos = slice.getContent().stream().map(this::withSelfLink).toList();
+		
+		if (approximateTotal != null) {
+			long seen = slice.getPageable().getOffset() + bookVos.size() + (slice.hasNext() ? 1 : 0);
+			return assembler.toModel(
+					new PageImpl<>(bookVos, slice.getPageable(), Math.max(approximateTotal, seen)), link);
+		}
 		
-		var books = DozerMapper.parseListObjects(bookRepository.findAll(), BookVO.class);
-		books.stream().forEach(p -> p.add(linkTo(methodOn(BookController.class).findById(p.getKey())).withSelfRel()));
-		return books;
+		var model = assembler.toModel(
+				new PageImpl<>(bookVos, PageRequest.of(0, slice.getSize()), bookVos.size()), link);
+		var links = new ArrayList<>(model.getLinks().toList());
+		if (prev != null) links.add(prev);
+		if (next != null) links.add(next);
+		return PagedModel.of(model.getContent(), null, links);
+	}
+	
+	private BookVO withSelfLink(BookVO vo) {
+		return vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+	}
+	
+	private static String direction(Pageable pageable, String property) {
+		var order = pageable.getSort().getOrderFor(property);
+		return order != null && order.isDescending() ? "desc" : "asc";
 	}
 
 	public BookVO findByKey(Long key){
 		logger.info("Buscando uma pessoa!");
 		
+		var snapshot = catalog.snapshot();
+		if (snapshot != null) {
+			var vo = snapshot.find(key);
+			if (vo == null) throw new ResourceNotFoundException("Nenhum registro encontrado para este key!");
+			return withSelfLink(vo);
+		}
+		
 		var entity = bookRepository.findById(key).orElseThrow(() -> 
 			new ResourceNotFoundException("Nenhum registro encontrado para este key!"));
 		
-		var vo =  DozerMapper.parseObject(entity, BookVO.class);
+		var vo =  mapper.toVO(entity);
 		vo.add(linkTo(methodOn(BookController.class).findById(key)).withSelfRel());
 		
 		return vo;
@@ -50,9 +218,10 @@ public class BookServices {
 		if(book == null) throw new RequiredObjectsIsNullException();
 		logger.info("Criando uma pessoa!");
 		
-		var entity = DozerMapper.parseObject(book, Book.class);
+		var entity = mapper.toEntity(book);
 		
-		var vo = DozerMapper.parseObject(bookRepository.save(entity), BookVO.class);
+		var vo = mapper.toVO(bookRepository.save(entity));
+		catalog.put(vo);
 		vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
 		
 		return vo;
@@ -64,13 +233,43 @@ public class BookServices {
 		
 		var entity = bookRepository.findById(book.getKey()).orElseThrow(() -> 
 			new ResourceNotFoundException("Nenhum registro encontrado para este key!"));
+		if (book.getVersion() != null && !book.getVersion().equals(entity.getVersion())) {
+			throw new ResourceConflictException();
+		}
+		
+		entity.setAuthor(book.getAuthor());
+		entity.setLaunchDate(book.getLaunchDate());
+		entity.setPrice(book.getPrice());
+		entity.setTitle(book.getTitle());
+		
+		var vo = mapper.toVO(bookRepository.save(entity));
+		catalog.put(vo);
+		vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
+		
+		return vo;
+	}
+	
+	@Transactional
+	public BookVO patch(Long key, MergePatch patch) {
+		logger.info("Atualizando parcialmente um livro!");
+		
+		var entity = bookRepository.findById(key).orElseThrow(() -> 
+			new ResourceNotFoundException("Nenhum registro encontrado para este key!"));
+		patch.checkVersion(entity.getVersion());
+		
+		var book = patch.applyTo(mapper.toVO(entity), objectMapper);
+		if (isBlank(book.getAuthor()) || book.getLaunchDate() == null
+				|| book.getPrice() == null || isBlank(book.getTitle())) {
+			throw new InvalidPatchException("author, launchDate, price e title são obrigatórios");
+		}
 		
 		entity.setAuthor(book.getAuthor());
 		entity.setLaunchDate(book.getLaunchDate());
 		entity.setPrice(book.getPrice());
 		entity.setTitle(book.getTitle());
 		
-		var vo = DozerMapper.parseObject(bookRepository.save(entity), BookVO.class);
+		var vo = mapper.toVO(bookRepository.saveAndFlush(entity));
+		catalog.put(vo);
 		vo.add(linkTo(methodOn(BookController.class).findById(vo.getKey())).withSelfRel());
 		
 		return vo;
@@ -82,5 +281,10 @@ public class BookServices {
 		var entity = bookRepository.findById(key).orElseThrow(() -> new ResourceNotFoundException("Nenhum registro encontrado para este key!"));
 		
 		bookRepository.delete(entity);
+		catalog.remove(key);
+	}
+	
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
 	}
 }
@@ -40,13 +40,21 @@ public class FileStorageService {
 	}
 	
 	public String storeFile(MultipartFile file) {
-		String fileName = StringUtils.cleanPath(file.getOriginalFilename());
+		return storeFile(file, "", StringUtils.cleanPath(file.getOriginalFilename()));
+	}
+	
+	/**
+	 * Grava o arquivo com o nome informado num subdiretorio do upload-dir ("" para a raiz),
+	 * criando o subdiretorio se preciso.
+	 */
+	public String storeFile(MultipartFile file, String directory, String fileName) {
 		try {
-			if(fileName.contains("..")) {
+			if(fileName.contains("..") || directory.contains("..")) {
 				throw new FileStorageException("Arquivo com o nome inválido");
 			}
 			
-			Path targetLocation = this.fileStorageLocation.resolve(fileName);
+			Path targetLocation = resolve(directory, fileName);
+			Files.createDirectories(targetLocation.getParent());
 			Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
 			
 			return fileName;
@@ -56,6 +64,10 @@ public class FileStorageService {
 					e);
 		}
 	}
+	
+	public Path resolve(String directory, String fileName) {
+		return this.fileStorageLocation.resolve(directory).resolve(fileName).normalize();
+	}
 
 	public Resource loadFileResourceAsResource (String fileName){
 		try {
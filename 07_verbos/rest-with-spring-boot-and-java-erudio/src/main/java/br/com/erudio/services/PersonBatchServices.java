@@ -0,0 +1,171 @@
+package br.com.erudio.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonBatchItemVO;
+import br.com.erudio.data.vo.v1.PersonBatchResultVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Cria ou atualiza pessoas em lote. O corpo (array JSON ou NDJSON) e lido item a item e
+ * gravado em blocos de person.batch.chunk-size, cada um na sua propria transacao: os
+ * existentes sao carregados com um unico IN, os novos recebem id do gerador pooled (sem
+ * ida ao banco por linha) e o flush envia INSERTs e UPDATEs em batch JDBC. Uma falha de
+ * banco marca apenas os itens do bloco em que ocorreu.
+ */
+@Service
+public class PersonBatchServices {
+
+	private Logger logger = Logger.getLogger(PersonBatchServices.class.getName());
+
+	private final PersonRepository personRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final int chunkSize;
+
+	public PersonBatchServices(PersonRepository personRepository, EntityManager entityManager,
+			PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+			@Value("${person.batch.chunk-size:500}") int chunkSize) {
+		this.personRepository = personRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.objectMapper = objectMapper;
+		this.chunkSize = chunkSize;
+	}
+
+	public PersonBatchResultVO upsert(InputStream body) throws IOException {
+		logger.info("Gravando pessoas em lote!");
+
+		var result = new PersonBatchResultVO();
+		List<PersonVO> chunk = new ArrayList<>(chunkSize);
+		int offset = 0;
+
+		try (MappingIterator<PersonVO> people = objectMapper.readerFor(PersonVO.class).readValues(body)) {
+			while (people.hasNextValue()) {
+				chunk.add(people.nextValue());
+				if (chunk.size() == chunkSize) {
+					writeChunk(chunk, offset, result);
+					offset += chunk.size();
+					chunk.clear();
+				}
+			}
+		} catch (JsonProcessingException e) {
+			writeChunk(chunk, offset, result);
+			offset += chunk.size();
+			result.add(new PersonBatchItemVO(offset, null, PersonBatchItemVO.FAILED,
+					"Conteúdo inválido, itens seguintes ignorados: " + e.getOriginalMessage()));
+			return result;
+		}
+		writeChunk(chunk, offset, result);
+		return result;
+	}
+
+	private void writeChunk(List<PersonVO> chunk, int offset, PersonBatchResultVO result) {
+		if (chunk.isEmpty()) return;
+
+		PersonBatchItemVO[] items = new PersonBatchItemVO[chunk.size()];
+		Map<Integer, Person> pending = new HashMap<>();
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				pending.clear();
+				var keys = chunk.stream()
+						.filter(Objects::nonNull)
+						.map(PersonVO::getKey)
+						.filter(key -> key > 0)
+						.collect(Collectors.toSet());
+				Map<Long, Person> existing = personRepository.findAllById(keys).stream()
+						.collect(Collectors.toMap(Person::getId, Function.identity()));
+
+				for (int i = 0; i < chunk.size(); i++) {
+					var vo = chunk.get(i);
+					long key = keyOf(vo);
+					String error = validate(vo);
+					Person entity = null;
+					if (error == null) {
+						entity = key > 0 ? existing.get(key) : new Person();
+						if (entity == null) error = "Nenhum registro encontrado para este key!";
+						else if (key > 0 && vo.getVersion() != null && !vo.getVersion().equals(entity.getVersion()))
+							error = "Versão desatualizada, recarregue o registro e tente novamente!";
+					}
+					if (error != null) {
+						items[i] = new PersonBatchItemVO(offset + i, key > 0 ? key : null,
+								PersonBatchItemVO.FAILED, error);
+						continue;
+					}
+					copy(vo, entity);
+					if (key == 0) {
+						entityManager.persist(entity);
+					}
+					pending.put(i, entity);
+				}
+				entityManager.flush();
+				entityManager.clear();
+			});
+			pending.forEach((i, entity) -> items[i] = new PersonBatchItemVO(offset + i, entity.getId(),
+					keyOf(chunk.get(i)) == 0 ? PersonBatchItemVO.CREATED : PersonBatchItemVO.UPDATED, null));
+		} catch (RuntimeException e) {
+			logger.warning("Falha ao gravar o bloco iniciado em " + offset + ": " + e.getMessage());
+			for (int i = 0; i < chunk.size(); i++) {
+				if (items[i] == null) {
+					long key = keyOf(chunk.get(i));
+					items[i] = new PersonBatchItemVO(offset + i, key > 0 ? key : null,
+							PersonBatchItemVO.FAILED, e.getMessage());
+				}
+			}
+		}
+		for (var item : items) {
+			result.add(item);
+		}
+	}
+
+	private static long keyOf(PersonVO vo) {
+		return vo == null ? 0 : vo.getKey();
+	}
+
+	static String validate(PersonVO vo) {
+		if (vo == null) return "Não é permnitido persistir um objeto nulo!";
+		if (isBlank(vo.getFirstName()) || isBlank(vo.getLastName())
+				|| isBlank(vo.getAddress()) || isBlank(vo.getGender())) {
+			return "first_name, last_name, address e gender são obrigatórios";
+		}
+		return null;
+	}
+
+	private static boolean isBlank(String value) {
+		return value == null || value.isBlank();
+	}
+
+	static void copy(PersonVO vo, Person entity) {
+		entity.setFirstName(vo.getFirstName());
+		entity.setLastName(vo.getLastName());
+		entity.setAddress(vo.getAddress());
+		entity.setGender(vo.getGender());
+		if (vo.getEnabled() != null) {
+			entity.setEnabled(vo.getEnabled());
+		} else if (entity.getEnabled() == null) {
+			entity.setEnabled(true);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package br.com.erudio.services;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.erudio.data.vo.v1.PersonDisableResultVO;
+import br.com.erudio.data.vo.v1.PersonDisableVO;
+import br.com.erudio.exceptions.RequiredObjectsIsNullException;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.repositories.PersonSpecifications;
+
+/**
+ * Desabilita pessoas em massa com UPDATEs set-based, um por bloco e cada um na sua
+ * transacao, para nao segurar locks de milhares de linhas de uma vez. Com ids, cada bloco
+ * e um IN de person.disable.chunk-size ids; com filtro, os ids que casam sao lidos por
+ * keyset (id maior que o ultimo do bloco anterior, LIMIT person.disable.chunk-size) e
+ * desabilitados com o mesmo IN. Pessoas ja desabilitadas nao sao tocadas.
+ */
+@Service
+public class PersonDisableServices {
+
+	private Logger logger = Logger.getLogger(PersonDisableServices.class.getName());
+
+	private final PersonRepository personRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final int chunkSize;
+
+	public PersonDisableServices(PersonRepository personRepository,
+			PlatformTransactionManager transactionManager,
+			@Value("${person.disable.chunk-size:1000}") int chunkSize) {
+		this.personRepository = personRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+	}
+
+	public PersonDisableResultVO disable(PersonDisableVO request) {
+		logger.info("Desabilitando pessoas em massa!");
+
+		if (request == null) throw new RequiredObjectsIsNullException();
+		if (request.getIds() != null && !request.getIds().isEmpty()) {
+			return new PersonDisableResultVO(disableIds(request.getIds()));
+		}
+		if (!request.hasFilter()) {
+			throw new RequiredObjectsIsNullException("Informe os ids ou ao menos um filtro!");
+		}
+		return new PersonDisableResultVO(disableMatching(request));
+	}
+
+	private long disableIds(List<Long> ids) {
+		var keys = ids.stream().filter(Objects::nonNull).distinct().toList();
+		long disabled = 0;
+		for (int from = 0; from < keys.size(); from += chunkSize) {
+			var chunk = keys.subList(from, Math.min(from + chunkSize, keys.size()));
+			disabled += transactionTemplate.execute(status -> personRepository.disableAll(chunk));
+		}
+		return disabled;
+	}
+
+	private long disableMatching(PersonDisableVO filter) {
+		var spec = PersonSpecifications.search(filter.getFirstName(), filter.getLastName(),
+				filter.getGender(), true, filter.getAddress());
+		long disabled = 0;
+		long last = 0;
+		while (true) {
+			List<Long> ids = personRepository.findIdsAfter(spec, last, chunkSize);
+			if (ids.isEmpty()) break;
+			disabled += transactionTemplate.execute(status -> personRepository.disableAll(ids));
+			if (ids.size() < chunkSize) break;
+			last = ids.get(ids.size() - 1);
+		}
+		return disabled;
+	}
+}
@@ -0,0 +1,155 @@
+package br.com.erudio.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.util.ExportFormat;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Exporta todas as pessoas direto para o stream da resposta. As linhas vem de um cursor
+ * somente leitura (PersonRepository.streamAll) e sao escritas uma a uma; a cada
+ * person.export.clear-interval linhas o contexto de persistencia e limpo e o buffer e
+ * descarregado, entao a memoria usada nao depende do tamanho da tabela.
+ */
+@Service
+public class PersonExportServices {
+
+	private static final String[] CSV_HEADER = {"key", "first_name", "last_name", "address", "gender", "enabled"};
+
+	private Logger logger = Logger.getLogger(PersonExportServices.class.getName());
+
+	private final PersonRepository personRepository;
+	private final EntityManager entityManager;
+	private final ObjectMapper objectMapper;
+	private final int clearInterval;
+
+	public PersonExportServices(PersonRepository personRepository, EntityManager entityManager,
+			ObjectMapper objectMapper, @Value("${person.export.clear-interval:1000}") int clearInterval) {
+		this.personRepository = personRepository;
+		this.entityManager = entityManager;
+		this.objectMapper = objectMapper;
+		this.clearInterval = clearInterval;
+	}
+
+	@Transactional(readOnly = true)
+	public long export(ExportFormat format, OutputStream out) throws IOException {
+		logger.info("Exportando todas as pessoas em " + format.getExtension() + "!");
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+		RowWriter rows = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+		long count = 0;
+		try (Stream<Person> people = personRepository.streamAll()) {
+			Iterator<Person> iterator = people.iterator();
+			while (iterator.hasNext()) {
+				rows.write(iterator.next());
+				if (++count % clearInterval == 0) {
+					entityManager.clear();
+					rows.flush();
+				}
+			}
+		}
+		rows.flush();
+		return count;
+	}
+
+	private interface RowWriter {
+
+		void write(Person person) throws IOException;
+
+		void flush() throws IOException;
+	}
+
+	private class NdjsonRowWriter implements RowWriter {
+
+		private final JsonGenerator generator;
+
+		NdjsonRowWriter(Writer writer) throws IOException {
+			this.generator = objectMapper.getFactory().createGenerator(writer);
+			this.generator.setRootValueSeparator(null);
+			this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		}
+
+		@Override
+		public void write(Person person) throws IOException {
+			generator.writeStartObject();
+			generator.writeNumberField("key", person.getId());
+			generator.writeStringField("first_name", person.getFirstName());
+			generator.writeStringField("last_name", person.getLastName());
+			generator.writeStringField("address", person.getAddress());
+			generator.writeStringField("gender", person.getGender());
+			if (person.getEnabled() == null) {
+				generator.writeNullField("enabled");
+			} else {
+				generator.writeBooleanField("enabled", person.getEnabled());
+			}
+			generator.writeEndObject();
+			generator.writeRaw('\n');
+		}
+
+		@Override
+		public void flush() throws IOException {
+			generator.flush();
+		}
+	}
+
+	private static class CsvRowWriter implements RowWriter {
+
+		private final Writer writer;
+
+		CsvRowWriter(Writer writer) throws IOException {
+			this.writer = writer;
+			writeLine(CSV_HEADER);
+		}
+
+		@Override
+		public void write(Person person) throws IOException {
+			writeLine(String.valueOf(person.getId()), person.getFirstName(), person.getLastName(),
+					person.getAddress(), person.getGender(),
+					person.getEnabled() == null ? null : person.getEnabled().toString());
+		}
+
+		private void writeLine(String... values) throws IOException {
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) writer.write(',');
+				writeValue(values[i]);
+			}
+			writer.write("\r\n");
+		}
+
+		private void writeValue(String value) throws IOException {
+			if (value == null) return;
+			boolean quoted = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+					|| value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+			if (!quoted) {
+				writer.write(value);
+				return;
+			}
+			writer.write('"');
+			writer.write(value.replace("\"", "\"\""));
+			writer.write('"');
+		}
+
+		@Override
+		public void flush() throws IOException {
+			writer.flush();
+		}
+	}
+}
@@ -0,0 +1,339 @@
+package br.com.erudio.services;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.controllers.PersonController;
+import br.com.erudio.data.vo.v1.PersonImportJobVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonImportJob;
+import br.com.erudio.repositories.PersonImportJobRepository;
+import br.com.erudio.util.CsvReader;
+import br.com.erudio.util.MediaType;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Importacao de pessoas a partir de um arquivo CSV ou NDJSON enviado por multipart. O
+ * arquivo e gravado em disco e processado em segundo plano: os registros sao lidos um a
+ * um e inseridos em blocos de person.import.chunk-size, cada bloco na sua transacao junto
+ * com o progresso do job (committed_rows). Se o processamento parar, o resume relê o
+ * arquivo pulando os registros ja gravados e continua do ultimo bloco confirmado. Antes de
+ * processar, o job e reivindicado no banco (PersonImportJobRepository.claim), entao apenas
+ * um no executa cada job; um job running sem progresso ha person.import.stale-after ms e
+ * tratado como abandonado.
+ */
+@Service
+public class PersonImportServices {
+
+	public static final String CSV = "csv";
+	public static final String NDJSON = "ndjson";
+
+	private static final String IMPORT_DIRECTORY = "imports";
+
+	private static final int MAX_MESSAGE_LENGTH = 1000;
+
+	private Logger logger = Logger.getLogger(PersonImportServices.class.getName());
+
+	private final PersonImportJobRepository jobRepository;
+	private final EntityManager entityManager;
+	private final TransactionTemplate transactionTemplate;
+	private final ObjectMapper objectMapper;
+	private final FileStorageService fileStorageService;
+	private final int chunkSize;
+	private final long staleAfterMillis;
+
+	private final ExecutorService executor =
+			Executors.newSingleThreadExecutor(new CustomizableThreadFactory("person-import-"));
+
+	public PersonImportServices(PersonImportJobRepository jobRepository, EntityManager entityManager,
+			PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+			FileStorageService fileStorageService,
+			@Value("${person.import.chunk-size:1000}") int chunkSize,
+			@Value("${person.import.stale-after:900000}") long staleAfterMillis) {
+		this.jobRepository = jobRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.objectMapper = objectMapper;
+		this.fileStorageService = fileStorageService;
+		this.chunkSize = chunkSize;
+		this.staleAfterMillis = staleAfterMillis;
+	}
+
+	public PersonImportJobVO start(MultipartFile file) {
+		logger.info("Iniciando importação de pessoas!");
+
+		String fileName = StringUtils.cleanPath(
+				file.getOriginalFilename() == null ? "import" : file.getOriginalFilename());
+		String format = formatOf(fileName, file.getContentType());
+		String storedFile = fileStorageService.storeFile(file, IMPORT_DIRECTORY, UUID.randomUUID() + "." + format);
+
+		var job = jobRepository.save(new PersonImportJob(fileName, storedFile, format));
+		submit(job.getId());
+		return toVO(job);
+	}
+
+	public PersonImportJobVO findById(Long id) {
+		return toVO(find(id));
+	}
+
+	/**
+	 * Reenvia para processamento um job que nao terminou (falhou ou foi interrompido junto
+	 * com a aplicacao). Jobs concluidos sao apenas retornados; jobs em execucao em algum no
+	 * nao sao reivindicados e o envio nao tem efeito.
+	 */
+	public PersonImportJobVO resume(Long id) {
+		logger.info("Retomando importação de pessoas!");
+
+		var job = find(id);
+		if (!PersonImportJob.COMPLETED.equals(job.getStatus())) {
+			submit(job.getId());
+		}
+		return toVO(job);
+	}
+
+	private void submit(long id) {
+		executor.execute(() -> processIfClaimed(id));
+	}
+
+	/**
+	 * Processa o job se este no conseguir reivindica-lo; retorna false se ele ja estiver
+	 * concluido ou em execucao em outro no (ou numa tarefa anterior deste).
+	 */
+	public boolean processIfClaimed(long id) {
+		var now = new Date();
+		if (jobRepository.claim(id, now, new Date(now.getTime() - staleAfterMillis)) == 0) {
+			logger.info("Importação " + id + " já concluída ou em execução");
+			return false;
+		}
+		process(id);
+		return true;
+	}
+
+	/**
+	 * Processa um job ja reivindicado por processIfClaimed. Cada bloco gravado atualiza
+	 * updated_at, o que mantem o job longe do limite de abandono.
+	 */
+	public void process(long id) {
+		var job = find(id);
+		if (PersonImportJob.COMPLETED.equals(job.getStatus())) return;
+
+		Path file = fileStorageService.resolve(IMPORT_DIRECTORY, job.getStoredFile());
+		try (PersonReader people = open(job.getFormat(), file)) {
+			for (long skipped = 0; skipped < job.getCommittedRows() && people.hasNext(); skipped++) {
+				people.next();
+			}
+
+			List<PersonVO> chunk = new ArrayList<>(chunkSize);
+			while (people.hasNext()) {
+				chunk.add(people.next());
+				if (chunk.size() == chunkSize) {
+					job = writeChunk(job.getId(), chunk);
+					chunk.clear();
+				}
+			}
+			job = writeChunk(job.getId(), chunk);
+			job.setStatus(PersonImportJob.COMPLETED);
+		} catch (IOException | RuntimeException e) {
+			logger.warning("Falha na importação " + id + " após " + job.getCommittedRows()
+					+ " registros: " + e.getMessage());
+			job.setStatus(PersonImportJob.FAILED);
+			job.setMessage(truncate(e.getMessage()));
+		}
+
+		job.setUpdatedAt(new Date());
+		try {
+			jobRepository.save(job);
+			if (PersonImportJob.COMPLETED.equals(job.getStatus())) Files.deleteIfExists(file);
+		} catch (IOException | RuntimeException e) {
+			logger.warning("Não foi possivel gravar o estado da importação " + id + ": " + e.getMessage());
+		}
+	}
+
+	private PersonImportJob writeChunk(long id, List<PersonVO> chunk) {
+		return transactionTemplate.execute(status -> {
+			var job = find(id);
+			if (chunk.isEmpty()) return job;
+
+			long row = job.getCommittedRows();
+			long created = 0;
+			long failed = 0;
+			for (var vo : chunk) {
+				row++;
+				String error = PersonBatchServices.validate(vo);
+				if (error != null) {
+					failed++;
+					if (job.getMessage() == null) job.setMessage(truncate("Registro " + row + ": " + error));
+					continue;
+				}
+				var entity = new Person();
+				PersonBatchServices.copy(vo, entity);
+				entityManager.persist(entity);
+				created++;
+			}
+
+			job.setCommittedRows(row);
+			job.setCreatedRows(job.getCreatedRows() + created);
+			job.setFailedRows(job.getFailedRows() + failed);
+			job.setUpdatedAt(new Date());
+			entityManager.flush();
+			entityManager.clear();
+			return job;
+		});
+	}
+
+	private PersonImportJob find(Long id) {
+		return jobRepository.findById(id).orElseThrow(() ->
+			new ResourceNotFoundException("Nenhum registro encontrado para este ID!"));
+	}
+
+	private PersonImportJobVO toVO(PersonImportJob job) {
+		var vo = DozerMapper.parseObject(job, PersonImportJobVO.class);
+		vo.add(linkTo(methodOn(PersonController.class).findImportJob(job.getId())).withSelfRel());
+		return vo;
+	}
+
+	private static String formatOf(String fileName, String contentType) {
+		if (fileName.toLowerCase().endsWith(".csv")) return CSV;
+		if (contentType != null && contentType.toLowerCase().startsWith(MediaType.TEXT_CSV)) {
+			return CSV;
+		}
+		return NDJSON;
+	}
+
+	private static String truncate(String message) {
+		if (message == null || message.length() <= MAX_MESSAGE_LENGTH) return message;
+		return message.substring(0, MAX_MESSAGE_LENGTH);
+	}
+
+	private PersonReader open(String format, Path file) throws IOException {
+		var in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+		try {
+			return CSV.equals(format) ? new CsvPersonReader(in) : new NdjsonPersonReader(in);
+		} catch (IOException | RuntimeException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private interface PersonReader extends Closeable {
+
+		boolean hasNext() throws IOException;
+
+		PersonVO next() throws IOException;
+	}
+
+	private class NdjsonPersonReader implements PersonReader {
+
+		private final MappingIterator<PersonVO> people;
+
+		NdjsonPersonReader(BufferedInputStream in) throws IOException {
+			this.people = objectMapper.readerFor(PersonVO.class).readValues(in);
+		}
+
+		@Override
+		public boolean hasNext() throws IOException {
+			return people.hasNextValue();
+		}
+
+		@Override
+		public PersonVO next() throws IOException {
+			return people.nextValue();
+		}
+
+		@Override
+		public void close() throws IOException {
+			people.close();
+		}
+	}
+
+	private static class CsvPersonReader implements PersonReader {
+
+		private final CsvReader reader;
+		private final Map<String, Integer> columns = new HashMap<>();
+		private List<String> record;
+
+		CsvPersonReader(BufferedInputStream in) throws IOException {
+			this.reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+			List<String> header = reader.readRecord();
+			if (header == null) header = List.of();
+			for (int i = 0; i < header.size(); i++) {
+				columns.put(header.get(i).trim().toLowerCase(), i);
+			}
+			for (String required : List.of("first_name", "last_name", "address", "gender")) {
+				if (!columns.containsKey(required)) {
+					throw new IllegalArgumentException("Cabeçalho CSV sem a coluna " + required);
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() throws IOException {
+			while (record == null) {
+				record = reader.readRecord();
+				if (record == null) return false;
+				if (record.size() == 1 && record.get(0).isBlank()) record = null;
+			}
+			return true;
+		}
+
+		@Override
+		public PersonVO next() throws IOException {
+			if (!hasNext()) return null;
+			var person = new PersonVO();
+			person.setFirstName(value("first_name"));
+			person.setLastName(value("last_name"));
+			person.setAddress(value("address"));
+			person.setGender(value("gender"));
+			String enabled = value("enabled");
+			if (enabled != null && !enabled.isBlank()) person.setEnabled(Boolean.valueOf(enabled.trim()));
+			record = null;
+			return person;
+		}
+
+		private String value(String column) {
+			Integer index = columns.get(column);
+			return index == null || index >= record.size() ? null : record.get(index);
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+	}
+}
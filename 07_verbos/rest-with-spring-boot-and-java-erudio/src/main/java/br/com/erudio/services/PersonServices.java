@@ -1,30 +1,46 @@
 package br.com.erudio.services;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import br.com.erudio.controllers.PersonController;
 import br.com.erudio.data.vo.v1.PersonVO;
 import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.exceptions.InvalidPatchException;
 import br.com.erudio.exceptions.RequiredObjectsIsNullException;
+import br.com.erudio.exceptions.ResourceConflictException;
 import br.com.erudio.exceptions.ResourceNotFoundException;
-import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.mapper.PersonVOMapper;
 import br.com.erudio.mapper.custom.PersonMapper;
 import br.com.erudio.model.Person;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.repositories.PersonSpecifications;
+import br.com.erudio.util.KeysetCursor;
+import br.com.erudio.util.MergePatch;
+import br.com.erudio.util.NameSearch;
+import br.com.erudio.util.TotalMode;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -37,50 +53,203 @@ public class PersonServices {
 	
 	@Autowired
 	PersonMapper mapper;
+	
+	@Autowired
+	PersonVOMapper voMapper;
 
 	@Autowired
 	PagedResourcesAssembler<PersonVO> assembler;
 
-	public PagedModel<EntityModel<PersonVO>> findAll(Pageable pageable) {
-
-		logger.info("Finding all people!");
+	@Autowired
+	ApproximateCountCache countCache;
+	
+	@Autowired
+	ObjectMapper objectMapper;
 
-		var personPage = personRepository.findAll(pageable);
+	/**
+	 * As listagens de findAll leem PersonSummary (constructor expression): as linhas nao
+	 * viram entidades gerenciadas e sao convertidas para PersonVO pelo PersonVOMapper.
+	 */
+	@Transactional(readOnly = true)
+	public PagedModel<EntityModel<PersonVO>> findAll(Pageable pageable, TotalMode total) {
 
-		var personVosPage = personPage.map(p -> DozerMapper.parseObject(p, PersonVO.class));
-		personVosPage.map(
-				p -> p.add(
-						linkTo(methodOn(PersonController.class)
-								.findById(p.getKey())).withSelfRel()));
+		logger.info("Finding all people!");
 
+		String direction = direction(pageable);
 		Link link = linkTo(
 				methodOn(PersonController.class)
 						.findAll(pageable.getPageNumber(),
 								pageable.getPageSize(),
-								"asc")).withSelfRel();
+								direction,
+								null,
+								total.param())).withSelfRel();
+
+		if (total == TotalMode.EXACT) {
+			return toPagedModel(personRepository.findAllSummaries(pageable).map(voMapper::toVO), link);
+		}
+
+		var slice = personRepository.findSlice(pageable).map(voMapper::toVO);
+		Long approximateTotal = total == TotalMode.APPROXIMATE
+				? countCache.get("person", personRepository::count)
+				: null;
+
+		Link prev = slice.hasPrevious() ? linkTo(methodOn(PersonController.class)
+				.findAll(pageable.getPageNumber() - 1, pageable.getPageSize(), direction, null, total.param()))
+				.withRel(IanaLinkRelations.PREV) : null;
+		Link next = slice.hasNext() ? linkTo(methodOn(PersonController.class)
+				.findAll(pageable.getPageNumber() + 1, pageable.getPageSize(), direction, null, total.param()))
+				.withRel(IanaLinkRelations.NEXT) : null;
+
+		return toPagedModel(slice, approximateTotal, link, prev, next);
+	}
+
+	/**
+	 * Paginacao por keyset: em vez de OFFSET, busca os registros depois do ultimo
+	 * (firstName, id) devolvido, usando o indice idx_person_first_name_id. Nao executa
+	 * COUNT; a resposta traz apenas o link next, com o cursor da proxima pagina.
+	 */
+	@Transactional(readOnly = true)
+	public PagedModel<EntityModel<PersonVO>> findAll(String cursor, int size, Sort.Direction direction) {
+
+		logger.info("Finding all people by cursor!");
 
-		return assembler.toModel(personVosPage, link);
+		Pageable limit = PageRequest.of(0, size + 1);
+		List<PersonVO> people;
+		if (cursor.isBlank()) {
+			people = voMapper.fromSummaries(personRepository.findPage(PageRequest.of(0, size + 1,
+					Sort.by(direction, "firstName").and(Sort.by(direction, "id")))));
+		} else {
+			var after = KeysetCursor.decode(cursor);
+			people = voMapper.fromSummaries(direction.isAscending()
+					? personRepository.findPageAfter(after.getKey(), after.getId(), limit)
+					: personRepository.findPageBefore(after.getKey(), after.getId(), limit));
+		}
+
+		boolean hasNext = people.size() > size;
+		if (hasNext) {
+			people = people.subList(0, size);
+		}
+
+		String directionParam = direction.name().toLowerCase();
+		Link link = linkTo(
+				methodOn(PersonController.class)
+						.findAll(null, size, directionParam, cursor, null)).withSelfRel();
+
+		Link next = null;
+		if (hasNext) {
+			var last = people.get(people.size() - 1);
+			String nextCursor = new KeysetCursor(last.getFirstName(), last.getKey()).encode();
+			next = linkTo(methodOn(PersonController.class)
+					.findAll(null, size, directionParam, nextCursor, null))
+					.withRel(IanaLinkRelations.NEXT);
+		}
+		return toPagedModel(new SliceImpl<>(people, PageRequest.of(0, size), hasNext), null, link, null, next);
 	}
 
-	public PagedModel<EntityModel<PersonVO>> findPersonByName(String firstName, Pageable pageable) {
+	public PagedModel<EntityModel<PersonVO>> findPersonByName(
+			String firstName, Pageable pageable, TotalMode total, NameSearch search) {
 
 		logger.info("Finding all people!");
 
-		var personPage = personRepository.findPersonByName(firstName, pageable);
+		String direction = direction(pageable);
+		String match = search.getMatch().param();
+		Link link = linkTo(
+				methodOn(PersonController.class)
+						.findPersonByName(firstName,
+								pageable.getPageNumber(),
+								pageable.getPageSize(),
+								direction,
+								total.param(),
+								match)).withSelfRel();
+
+		if (total == TotalMode.EXACT) {
+			var page = search.usesFullText()
+					? personRepository.searchPersonByName(search.getFullTextTerm(), search.getLikePattern(), pageable)
+					: personRepository.findPersonByName(search.getLikePattern(), pageable);
+			return toPagedModel(page.map(this::toVO), link);
+		}
+
+		var slice = (search.usesFullText()
+				? personRepository.searchSliceByName(search.getFullTextTerm(), search.getLikePattern(), pageable)
+				: personRepository.findSliceByName(search.getLikePattern(), pageable))
+				.map(this::toVO);
+		Long approximateTotal = total == TotalMode.APPROXIMATE
+				? countCache.get("person:name:" + search.cacheKey(), () -> search.usesFullText()
+						? personRepository.countSearchByName(search.getFullTextTerm(), search.getLikePattern())
+						: personRepository.countPersonByName(search.getLikePattern()))
+				: null;
+
+		Link prev = slice.hasPrevious() ? linkTo(methodOn(PersonController.class)
+				.findPersonByName(firstName, pageable.getPageNumber() - 1, pageable.getPageSize(), direction, total.param(), match))
+				.withRel(IanaLinkRelations.PREV) : null;
+		Link next = slice.hasNext() ? linkTo(methodOn(PersonController.class)
+				.findPersonByName(firstName, pageable.getPageNumber() + 1, pageable.getPageSize(), direction, total.param(), match))
+				.withRel(IanaLinkRelations.NEXT) : null;
+
+		return toPagedModel(slice, approximateTotal, link, prev, next);
+	}
+
+	public PagedModel<EntityModel<PersonVO>> search(String firstName, String lastName, String gender,
+			Boolean enabled, String address, Pageable pageable, String sortBy) {
 
-		var personVosPage = personPage.map(p -> DozerMapper.parseObject(p, PersonVO.class));
-		personVosPage.map(
-				p -> p.add(
-						linkTo(methodOn(PersonController.class)
-								.findById(p.getKey())).withSelfRel()));
+		logger.info("Pesquisando pessoas!");
+
+		var spec = PersonSpecifications.search(firstName, lastName, gender, enabled, address);
+		var page = personRepository.findAll(spec, pageable).map(this::toVO);
 
 		Link link = linkTo(
 				methodOn(PersonController.class)
-						.findAll(pageable.getPageNumber(),
+						.search(firstName, lastName, gender, enabled, address,
+								pageable.getPageNumber(),
 								pageable.getPageSize(),
-								"asc")).withSelfRel();
+								direction(pageable, sortBy),
+								sortBy)).withSelfRel();
 
-		return assembler.toModel(personVosPage, link);
+		return toPagedModel(page, link);
+	}
+
+	private PagedModel<EntityModel<PersonVO>> toPagedModel(Page<PersonVO> page, Link link) {
+		return assembler.toModel(page.map(this::withSelfLink), link);
+	}
+
+	/**
+	 * Monta a resposta de uma Slice. Com um total aproximado conhecido, a pagina segue o
+	 * fluxo normal do assembler (links first/prev/next/last e metadata); sem total, so os
+	 * links prev/next sao emitidos e a metadata e omitida.
+	 */
+	private PagedModel<EntityModel<PersonVO>> toPagedModel(
+			Slice<PersonVO> slice, Long approximateTotal, Link link, Link prev, Link next) {
+		var personVos = slice.getContent().stream().map(this::withSelfLink).toList();
+
+		if (approximateTotal != null) {
+			long seen = slice.getPageable().getOffset() + personVos.size() + (slice.hasNext() ? 1 : 0);
+			return assembler.toModel(
+					new PageImpl<>(personVos, slice.getPageable(), Math.max(approximateTotal, seen)), link);
+		}
+
+		var model = assembler.toModel(
+				new PageImpl<>(personVos, PageRequest.of(0, slice.getSize()), personVos.size()), link);
+		var links = new ArrayList<>(model.getLinks().toList());
+		if (prev != null) links.add(prev);
+		if (next != null) links.add(next);
+		return PagedModel.of(model.getContent(), null, links);
+	}
+
+	private PersonVO toVO(Person person) {
+		return voMapper.toVO(person);
+	}
+
+	private PersonVO withSelfLink(PersonVO vo) {
+		return vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+	}
+
+	private static String direction(Pageable pageable) {
+		return direction(pageable, "firstName");
+	}
+
+	private static String direction(Pageable pageable, String property) {
+		var order = pageable.getSort().getOrderFor(property);
+		return order != null && order.isDescending() ? "desc" : "asc";
 	}
 
 	public PersonVO findByKey(Long key){
@@ -89,7 +258,7 @@ public class PersonServices {
 		var entity = personRepository.findById(key).orElseThrow(() -> 
 			new ResourceNotFoundException("Nenhum registro encontrado para este key!"));
 		
-		var vo =  DozerMapper.parseObject(entity, PersonVO.class);
+		var vo =  voMapper.toVO(entity);
 		vo.add(linkTo(methodOn(PersonController.class).findById(key)).withSelfRel());
 		
 		return vo;
@@ -100,9 +269,9 @@ public class PersonServices {
 		if(person == null) throw new RequiredObjectsIsNullException();
 		logger.info("Criando uma pessoa!");
 		
-		var entity = DozerMapper.parseObject(person, Person.class);
+		var entity = voMapper.toEntity(person);
 		
-		var vo = DozerMapper.parseObject(personRepository.save(entity), PersonVO.class);
+		var vo = voMapper.toVO(personRepository.save(entity));
 		vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
 		
 		return vo;
@@ -124,28 +293,60 @@ public class PersonServices {
 		
 		var entity = personRepository.findById(person.getKey()).orElseThrow(() -> 
 			new ResourceNotFoundException("Nenhum registro encontrado para este key!"));
+		if (person.getVersion() != null && !person.getVersion().equals(entity.getVersion())) {
+			throw new ResourceConflictException();
+		}
 		
 		entity.setFirstName(person.getFirstName());
 		entity.setLastName(person.getLastName());
 		entity.setAddress(person.getAddress());
 		entity.setGender(person.getGender());
 		
-		var vo = DozerMapper.parseObject(personRepository.save(entity), PersonVO.class);
+		var vo = voMapper.toVO(personRepository.save(entity));
 		vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
 		
 		return vo;
 	}
 
+	/**
+	 * Atualizacao parcial: so os campos presentes no patch mudam e, com @DynamicUpdate, so
+	 * as colunas alteradas entram no UPDATE, que filtra pela versao; uma escrita concorrente
+	 * resulta em 409 em vez de sobrescrever a outra alteracao.
+	 */
+	@Transactional
+	public PersonVO patch(Long key, MergePatch patch) {
+		logger.info("Atualizando parcialmente uma pessoa!");
+
+		var entity = personRepository.findById(key).orElseThrow(() ->
+			new ResourceNotFoundException("Nenhum registro encontrado para este key!"));
+		patch.checkVersion(entity.getVersion());
+
+		var person = patch.applyTo(voMapper.toVO(entity), objectMapper);
+		String error = PersonBatchServices.validate(person);
+		if (error == null && person.getEnabled() == null) error = "enabled é obrigatório";
+		if (error != null) throw new InvalidPatchException(error);
+
+		entity.setFirstName(person.getFirstName());
+		entity.setLastName(person.getLastName());
+		entity.setAddress(person.getAddress());
+		entity.setGender(person.getGender());
+		entity.setEnabled(person.getEnabled());
+
+		var vo = voMapper.toVO(personRepository.saveAndFlush(entity));
+		vo.add(linkTo(methodOn(PersonController.class).findById(vo.getKey())).withSelfRel());
+
+		return vo;
+	}
+
 	@Transactional
 	public PersonVO disablePerson(Long key){
 		logger.info("Desabilitando uma pessoa!");
 
-		personRepository.disablePerson(key);
-
 		var entity = personRepository.findById(key).orElseThrow(() ->
 				new ResourceNotFoundException("Nenhum registro encontrado para este key!"));
+		entity.setEnabled(false);
 
-		var vo =  DozerMapper.parseObject(entity, PersonVO.class);
+		var vo =  voMapper.toVO(entity);
 		vo.add(linkTo(methodOn(PersonController.class).findById(key)).withSelfRel());
 
 		return vo;
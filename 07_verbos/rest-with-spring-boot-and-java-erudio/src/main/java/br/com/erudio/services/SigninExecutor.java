@@ -0,0 +1,75 @@
+package br.com.erudio.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Executor dedicado ao signin: o PBKDF2 roda fora das threads do Tomcat, com no maximo
+ * max-concurrency hashes simultaneos e queue-capacity logins aguardando. Acima disso o
+ * signin e recusado com 429 em vez de ocupar as threads das demais rotas. As tarefas nao
+ * tem acesso a requisicao: tudo o que depende dela deve ser lido antes do submit.
+ */
+@Component
+public class SigninExecutor {
+
+	private final ThreadPoolExecutor executor;
+	
+	private final long retryAfterSeconds;
+	
+	private final Timer queueWait;
+	private final Timer hashTime;
+
+	public SigninExecutor(
+			@Value("${security.signin.max-concurrency:4}") int maxConcurrency,
+			@Value("${security.signin.queue-capacity:64}") int queueCapacity,
+			@Value("${security.signin.retry-after-seconds:1}") long retryAfterSeconds,
+			MeterRegistry registry) {
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.executor = new ThreadPoolExecutor(
+				maxConcurrency, maxConcurrency,
+				0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				new CustomizableThreadFactory("signin-"),
+				new ThreadPoolExecutor.AbortPolicy());
+
+		this.queueWait = Timer.builder("auth.signin.queue.wait").register(registry);
+		this.hashTime = Timer.builder("auth.signin.hash").register(registry);
+		Gauge.builder("auth.signin.queue.depth", executor, e -> e.getQueue().size())
+			.register(registry);
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> task) {
+		long enqueuedAt = System.nanoTime();
+		try {
+			return CompletableFuture.supplyAsync(() -> {
+				queueWait.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+				return task.get();
+			}, executor);
+		} catch (RejectedExecutionException e) {
+			throw new TooManyRequestsException("Muitas tentativas de login, tente novamente", retryAfterSeconds);
+		}
+	}
+
+	public <T> T timeHash(Supplier<T> hash) {
+		return hashTime.record(hash);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
+	}
+}
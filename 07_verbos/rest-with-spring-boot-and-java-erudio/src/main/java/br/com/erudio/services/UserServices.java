@@ -4,15 +4,21 @@ import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.erudio.mapper.custom.PersonMapper;
+import br.com.erudio.model.User;
 import br.com.erudio.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 
 @Service
-public class UserServices implements UserDetailsService{
+public class UserServices implements UserDetailsService, UserDetailsPasswordService{
 
 	private Logger logger = Logger.getLogger(UserServices.class.getName()); 
 
@@ -25,15 +31,40 @@ public class UserServices implements UserDetailsService{
 
 	@Autowired
 	PersonMapper mapper;
+	
+	@Autowired
+	MeterRegistry registry;
+	
+	private Timer lookupTimer;
+	
+	@PostConstruct
+	protected void init() {
+		lookupTimer = Timer.builder("security.userdetails.lookup").register(registry);
+	}
 
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 		logger.info("Buscando o usuário " + username);
-		var user = repository.findByUsername(username);
+		var user = lookupTimer.record(() -> repository.findByUsername(username));
 		if (user != null) {
 			return user;
 		} else {
 			throw new UsernameNotFoundException("Username " + username + " not found!");
 		}
 	}
+
+	@Override
+	@Transactional
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		logger.info("Atualizando o hash da senha do usuário " + user.getUsername());
+		// Altera a entidade gerenciada: um UPDATE em JPQL invalidaria toda a regiao de User do cache L2
+		var entity = repository.findByUsername(user.getUsername());
+		if (entity != null) {
+			entity.setPassword(newPassword);
+		}
+		if (user instanceof User detached && detached != entity) {
+			detached.setPassword(newPassword);
+		}
+		return entity != null ? entity : user;
+	}
 }
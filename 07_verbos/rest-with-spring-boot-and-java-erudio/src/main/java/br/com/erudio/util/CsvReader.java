@@ -0,0 +1,77 @@
+package br.com.erudio.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) que devolve um registro por vez, sem carregar o arquivo.
+ * Aceita campos entre aspas com virgulas, aspas duplicadas e quebras de linha, linhas
+ * terminadas em \n ou \r\n e ignora o BOM no inicio do arquivo.
+ */
+public class CsvReader implements Closeable {
+
+	private final Reader reader;
+	private boolean started;
+
+	public CsvReader(Reader reader) {
+		this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader, 64 * 1024);
+	}
+
+	/**
+	 * Proximo registro, ou null no fim do arquivo.
+	 */
+	public List<String> readRecord() throws IOException {
+		int c = reader.read();
+		if (!started) {
+			started = true;
+			if (c == '\uFEFF') c = reader.read();
+		}
+		if (c == -1) return null;
+
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		boolean wasQuoted = false;
+
+		while (true) {
+			if (quoted) {
+				if (c == -1) {
+					throw new IOException("Campo entre aspas nao terminado no fim do arquivo");
+				}
+				if (c == '"') {
+					c = reader.read();
+					if (c == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						continue;
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"' && field.length() == 0 && !wasQuoted) {
+				quoted = true;
+				wasQuoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+				wasQuoted = false;
+			} else if (c == '\n' || c == -1) {
+				fields.add(field.toString());
+				return fields;
+			} else if (c != '\r') {
+				field.append((char) c);
+			}
+			c = reader.read();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -0,0 +1,46 @@
+package br.com.erudio.util;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formato da exportacao de pessoas, escolhido pelo header Accept. Entre os tipos aceitos
+ * vence o de maior qualidade; sem tipo explicito (ou com curinga) o padrao e NDJSON.
+ */
+public enum ExportFormat {
+
+	NDJSON(br.com.erudio.util.MediaType.APPLICATION_NDJSON, "ndjson"),
+	CSV(br.com.erudio.util.MediaType.TEXT_CSV, "csv");
+
+	private final MediaType mediaType;
+	private final String extension;
+
+	ExportFormat(String mediaType, String extension) {
+		this.mediaType = MediaType.parseMediaType(mediaType);
+		this.extension = extension;
+	}
+
+	public static ExportFormat negotiate(String accept) {
+		ExportFormat best = NDJSON;
+		double quality = -1;
+		if (accept == null || accept.isBlank()) return best;
+
+		for (MediaType type : MediaType.parseMediaTypes(accept)) {
+			if (type.isWildcardType() || type.isWildcardSubtype()) continue;
+			for (ExportFormat format : values()) {
+				if (format.mediaType.equalsTypeAndSubtype(type) && type.getQualityValue() > quality) {
+					best = format;
+					quality = type.getQualityValue();
+				}
+			}
+		}
+		return best;
+	}
+
+	public String getContentType() {
+		return mediaType.toString() + ";charset=UTF-8";
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+}
@@ -0,0 +1,47 @@
+package br.com.erudio.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import br.com.erudio.exceptions.InvalidCursorException;
+
+/**
+ * Token de continuacao opaco para paginacao por keyset: guarda a chave de ordenacao e o
+ * id do ultimo registro devolvido, em base64url.
+ */
+public class KeysetCursor {
+
+	private static final char SEPARATOR = '\u0000';
+
+	private final String key;
+	private final long id;
+
+	public KeysetCursor(String key, long id) {
+		this.key = key;
+		this.id = id;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public String encode() {
+		String raw = id + String.valueOf(SEPARATOR) + (key == null ? "" : key);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static KeysetCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(SEPARATOR);
+			if (separator < 0) throw new InvalidCursorException();
+			return new KeysetCursor(raw.substring(separator + 1), Long.parseLong(raw.substring(0, separator)));
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException();
+		}
+	}
+}
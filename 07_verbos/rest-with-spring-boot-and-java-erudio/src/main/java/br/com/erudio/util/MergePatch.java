@@ -0,0 +1,88 @@
+package br.com.erudio.util;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import br.com.erudio.exceptions.InvalidPatchException;
+import br.com.erudio.exceptions.ResourceConflictException;
+
+/**
+ * Corpo de um PATCH em JSON Merge Patch (RFC 7386) sobre um VO plano: campos presentes
+ * substituem o valor atual (inclusive null) e campos ausentes ficam como estao. A versao
+ * esperada do registro vem do header If-Match ou do campo version do proprio patch e e
+ * obrigatoria; chave, versao e links nunca sao alterados pelo patch. Os valores sao lidos
+ * com o ObjectMapper da aplicacao, recusando campos desconhecidos.
+ */
+public class MergePatch {
+
+	private static final List<String> RESERVED_FIELDS = List.of("key", "id", "version", "links", "_links");
+
+	private final ObjectNode patch;
+	private final long expectedVersion;
+
+	private MergePatch(ObjectNode patch, long expectedVersion) {
+		this.patch = patch;
+		this.expectedVersion = expectedVersion;
+	}
+
+	public static MergePatch of(JsonNode body, String ifMatch) {
+		if (body == null || !body.isObject()) {
+			throw new InvalidPatchException("O corpo do PATCH deve ser um objeto JSON!");
+		}
+		ObjectNode patch = ((ObjectNode) body).deepCopy();
+
+		Long version = parseVersion(ifMatch);
+		JsonNode versionField = patch.get("version");
+		if (version == null && versionField != null && !versionField.isNull()) {
+			if (!versionField.canConvertToLong()) throw new InvalidPatchException("Versão inválida!");
+			version = versionField.asLong();
+		}
+		if (version == null) {
+			throw new InvalidPatchException("Informe a versão pelo header If-Match ou pelo campo version!");
+		}
+
+		patch.remove(RESERVED_FIELDS);
+		return new MergePatch(patch, version);
+	}
+
+	public long getExpectedVersion() {
+		return expectedVersion;
+	}
+
+	public void checkVersion(Long currentVersion) {
+		if (currentVersion == null || currentVersion != expectedVersion) {
+			throw new ResourceConflictException();
+		}
+	}
+
+	public <T> T applyTo(T target, ObjectMapper mapper) {
+		try {
+			return mapper.readerForUpdating(target)
+					.with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+					.readValue(patch);
+		} catch (IOException e) {
+			String message = e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+			throw new InvalidPatchException("Patch inválido: " + message, e);
+		}
+	}
+
+	private static Long parseVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank()) return null;
+		String value = ifMatch.trim();
+		if (value.startsWith("W/")) value = value.substring(2);
+		if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+			value = value.substring(1, value.length() - 1);
+		}
+		try {
+			return Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new InvalidPatchException("Versão inválida no header If-Match!");
+		}
+	}
+}
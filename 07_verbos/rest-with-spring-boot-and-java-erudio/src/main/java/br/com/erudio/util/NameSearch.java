@@ -0,0 +1,65 @@
+package br.com.erudio.util;
+
+/**
+ * Traduz o nome buscado para as duas formas de consulta: o termo do indice FULLTEXT
+ * (frase entre aspas, casada pelos tokens do parser ngram) e o padrao LIKE, que confirma
+ * o resultado exato. Prefixos usam apenas o LIKE 'x%', atendido pelo indice em first_name.
+ * Termos menores que o ngram_token_size do servidor (ver FullTextConfig), ou com algo alem
+ * de letras e digitos, nao formam tokens confiaveis e ficam so com o LIKE.
+ *
+ * O indice e criado pela V15 com innodb_ft_enable_stopword desligado: o parser ngram
+ * descarta todo token que contem uma stopword, e a lista padrao do InnoDB tem "a" e "i",
+ * entao nomes como "Ana" perderiam a maior parte dos tokens. A lista de stopwords e
+ * associada ao indice na criacao, por isso basta desligar na sessao da migration.
+ */
+public class NameSearch {
+
+	public enum Match {
+		CONTAINS, PREFIX;
+
+		public static Match of(String value) {
+			return "prefix".equalsIgnoreCase(value) ? PREFIX : CONTAINS;
+		}
+
+		public String param() {
+			return name().toLowerCase();
+		}
+	}
+
+	private final String name;
+	private final Match match;
+	private final int ngramTokenSize;
+
+	private NameSearch(String name, Match match, int ngramTokenSize) {
+		this.name = name;
+		this.match = match;
+		this.ngramTokenSize = ngramTokenSize;
+	}
+
+	public static NameSearch of(String name, String match, int ngramTokenSize) {
+		return new NameSearch(name == null ? "" : name.trim(), Match.of(match), ngramTokenSize);
+	}
+
+	public Match getMatch() {
+		return match;
+	}
+
+	public boolean usesFullText() {
+		return match == Match.CONTAINS
+				&& name.length() >= ngramTokenSize
+				&& name.chars().allMatch(Character::isLetterOrDigit);
+	}
+
+	public String getFullTextTerm() {
+		return "\"" + name + "\"";
+	}
+
+	public String getLikePattern() {
+		String escaped = name.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+		return match == Match.PREFIX ? escaped + "%" : "%" + escaped + "%";
+	}
+
+	public String cacheKey() {
+		return match.param() + ":" + name.toLowerCase();
+	}
+}
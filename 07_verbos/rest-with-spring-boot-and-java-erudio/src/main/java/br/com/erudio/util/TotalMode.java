@@ -0,0 +1,24 @@
+package br.com.erudio.util;
+
+/**
+ * Como o total de registros e informado em listagens paginadas: EXACT (padrao) executa o
+ * COUNT, APPROXIMATE usa o total em cache (atualizado em segundo plano) e NONE nao informa
+ * total, apenas os links prev/next.
+ */
+public enum TotalMode {
+
+	EXACT, APPROXIMATE, NONE;
+
+	public static TotalMode of(String value) {
+		if (value != null) {
+			for (TotalMode mode : values()) {
+				if (mode.name().equalsIgnoreCase(value)) return mode;
+			}
+		}
+		return EXACT;
+	}
+
+	public String param() {
+		return name().toLowerCase();
+	}
+}
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS `refresh_token` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `token_id` varchar(36) NOT NULL,
+  `family_id` varchar(36) NOT NULL,
+  `user_name` varchar(255) NOT NULL,
+  `expires_at` datetime(6) NOT NULL,
+  `consumed` bit(1) NOT NULL DEFAULT b'0',
+  `revoked` bit(1) NOT NULL DEFAULT b'0',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_refresh_token_token_id` (`token_id`),
+  KEY `idx_refresh_token_family_id` (`family_id`),
+  KEY `idx_refresh_token_expires_at` (`expires_at`)
+) ENGINE=InnoDB;
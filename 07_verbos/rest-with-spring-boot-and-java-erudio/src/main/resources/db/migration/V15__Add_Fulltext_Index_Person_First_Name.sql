@@ -0,0 +1,8 @@
+-- O parser ngram quebra o nome em bigramas, permitindo busca por substring pelo indice.
+-- Sem desligar as stopwords, bigramas que contem uma stopword (ex.: "a") ficariam fora do indice.
+SET SESSION innodb_ft_enable_stopword = OFF;
+
+ALTER TABLE `person`
+	ADD FULLTEXT INDEX `ft_person_first_name` (`first_name`) WITH PARSER ngram;
+
+SET SESSION innodb_ft_enable_stopword = ON;
@@ -0,0 +1,5 @@
+ALTER TABLE `person`
+	ADD INDEX `idx_person_last_name_id` (`last_name`, `id`),
+	ADD INDEX `idx_person_gender_first_name_id` (`gender`, `first_name`, `id`),
+	ADD INDEX `idx_person_enabled_first_name_id` (`enabled`, `first_name`, `id`),
+	ADD INDEX `idx_person_address_id` (`address`, `id`);
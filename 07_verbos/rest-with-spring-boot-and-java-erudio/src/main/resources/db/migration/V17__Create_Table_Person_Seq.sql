@@ -0,0 +1,8 @@
+-- Tabela usada pelo gerador pooled de Person (allocationSize = 50). O valor inicial fica
+-- acima do maior id existente para que os ids gerados nao colidam com os ja inseridos.
+CREATE TABLE IF NOT EXISTS `person_seq` (
+  `next_val` bigint NOT NULL
+) ENGINE=InnoDB;
+
+INSERT INTO `person_seq` (`next_val`)
+	SELECT COALESCE(MAX(`id`), 0) + 100 FROM `person`;
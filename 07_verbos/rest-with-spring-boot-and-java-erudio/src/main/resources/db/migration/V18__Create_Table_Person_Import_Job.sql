@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS `person_import_job` (
+  `id` bigint NOT NULL AUTO_INCREMENT,
+  `file_name` varchar(255) NOT NULL,
+  `stored_file` varchar(255) NOT NULL,
+  `format` varchar(10) NOT NULL,
+  `status` varchar(20) NOT NULL,
+  `committed_rows` bigint NOT NULL DEFAULT 0,
+  `created_rows` bigint NOT NULL DEFAULT 0,
+  `failed_rows` bigint NOT NULL DEFAULT 0,
+  `message` varchar(1000),
+  `created_at` datetime(6) NOT NULL,
+  `updated_at` datetime(6) NOT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
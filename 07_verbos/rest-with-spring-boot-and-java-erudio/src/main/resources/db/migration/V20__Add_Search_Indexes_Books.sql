@@ -0,0 +1,7 @@
+ALTER TABLE `books`
+	MODIFY `author` varchar(100) NOT NULL,
+	MODIFY `title` varchar(250) NOT NULL,
+	ADD INDEX `idx_books_author_id` (`author`, `id`),
+	ADD INDEX `idx_books_title_id` (`title`, `id`),
+	ADD INDEX `idx_books_price_id` (`price`, `id`),
+	ADD INDEX `idx_books_launch_date_id` (`launch_date`, `id`);
@@ -0,0 +1,7 @@
+-- Os ids de person vem apenas do gerador pooled sobre person_seq (V17). Sem remover o
+-- AUTO_INCREMENT, um INSERT sem id receberia MAX(id) + 1, que pode estar dentro de um bloco
+-- de 50 ids ja reservado por algum no, e os ids colidiriam.
+ALTER TABLE `person` MODIFY `id` bigint NOT NULL;
+
+-- Linhas inseridas pelo AUTO_INCREMENT depois da V17 podem ter passado do valor da sequencia.
+UPDATE `person_seq` SET `next_val` = GREATEST(`next_val`, (SELECT COALESCE(MAX(`id`), 0) + 100 FROM `person`));
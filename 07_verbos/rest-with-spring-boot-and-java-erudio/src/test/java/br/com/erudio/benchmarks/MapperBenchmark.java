@@ -0,0 +1,107 @@
+package br.com.erudio.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.mapper.BookVOMapper;
+import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.mapper.PersonVOMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+
+/**
+ * Conversao de uma pagina de entidades em VOs: DozerMapper (reflexao a cada campo) contra
+ * os mappers gerados pelo MapStruct. Rodar pelo main; o GCProfiler mostra a alocacao por
+ * operacao (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+	@Param({"12", "1000"})
+	int pageSize;
+
+	List<Person> people;
+	List<Book> books;
+
+	PersonVOMapper personVOMapper = Mappers.getMapper(PersonVOMapper.class);
+	BookVOMapper bookVOMapper = Mappers.getMapper(BookVOMapper.class);
+
+	@Setup
+	public void setUp() {
+		people = new ArrayList<>(pageSize);
+		books = new ArrayList<>(pageSize);
+		for (int i = 0; i < pageSize; i++) {
+			var person = new Person();
+			person.setId(i);
+			person.setFirstName("First Name " + i);
+			person.setLastName("Last Name " + i);
+			person.setAddress("Address " + i);
+			person.setGender(i % 2 == 0 ? "Male" : "Female");
+			person.setEnabled(true);
+			person.setVersion(0L);
+			people.add(person);
+
+			var book = new Book();
+			book.setId(i);
+			book.setAuthor("Author " + i);
+			book.setTitle("Title " + i);
+			book.setPrice(10.0 + i);
+			book.setLaunchDate(new Date());
+			book.setVersion(0L);
+			books.add(book);
+		}
+	}
+
+	@Benchmark
+	public List<PersonVO> dozerPeople() {
+		return DozerMapper.parseListObjects(people, PersonVO.class);
+	}
+
+	@Benchmark
+	public List<PersonVO> mapStructPeople() {
+		return personVOMapper.toVOs(people);
+	}
+
+	@Benchmark
+	public List<BookVO> dozerBooks() {
+		return DozerMapper.parseListObjects(books, BookVO.class);
+	}
+
+	@Benchmark
+	public List<BookVO> mapStructBooks() {
+		return bookVOMapper.toVOs(books);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(MapperBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,125 @@
+package br.com.erudio.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import br.com.erudio.security.jwt.TokenMinter;
+
+/**
+ * Vazao de assinatura e verificacao por algoritmo suportado pelo JwtTokenProvider.
+ * EdDSA nao e suportado pelo java-jwt; as medicoes "ed25519*" usam a JCA diretamente
+ * sobre um payload do mesmo tamanho, apenas como referencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningAlgorithmBenchmark {
+
+	@Param({"HS256", "RS256", "ES256"})
+	String algorithmName;
+
+	TokenMinter minter;
+	JWTVerifier verifier;
+	String token;
+
+	KeyPair ed25519;
+	byte[] signingInput;
+	byte[] ed25519Signature;
+
+	@Setup
+	public void setUp() throws Exception {
+		Algorithm algorithm = switch (algorithmName) {
+			case "RS256" -> {
+				KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+				generator.initialize(2048);
+				KeyPair pair = generator.generateKeyPair();
+				yield Algorithm.RSA256((RSAPublicKey) pair.getPublic(), (RSAPrivateKey) pair.getPrivate());
+			}
+			case "ES256" -> {
+				KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+				generator.initialize(256);
+				KeyPair pair = generator.generateKeyPair();
+				yield Algorithm.ECDSA256((ECPublicKey) pair.getPublic(), (ECPrivateKey) pair.getPrivate());
+			}
+			default -> Algorithm.HMAC256("NTNjcjM3".getBytes());
+		};
+		minter = new TokenMinter(algorithm);
+		verifier = JWT.require(algorithm).build();
+		token = mint();
+
+		ed25519 = KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+		signingInput = token.substring(0, token.lastIndexOf('.')).getBytes(StandardCharsets.US_ASCII);
+		ed25519Signature = ed25519Sign();
+	}
+
+	private String mint() {
+		Date now = new Date();
+		return minter.mint("leandro", List.of("ADMIN", "MANAGER"), "http://localhost:80", now,
+				new Date(now.getTime() + 3600000), new Date(now.getTime() + 10800000), "family", "token")
+				.getAccessToken();
+	}
+
+	@Benchmark
+	public String sign() {
+		return mint();
+	}
+
+	@Benchmark
+	public DecodedJWT verify() {
+		return verifier.verify(token);
+	}
+
+	@Benchmark
+	public byte[] ed25519Sign() throws Exception {
+		Signature signature = Signature.getInstance("Ed25519");
+		signature.initSign(ed25519.getPrivate());
+		signature.update(signingInput);
+		return signature.sign();
+	}
+
+	@Benchmark
+	public boolean ed25519Verify() throws Exception {
+		Signature signature = Signature.getInstance("Ed25519");
+		signature.initVerify(ed25519.getPublic());
+		signature.update(signingInput);
+		return signature.verify(ed25519Signature);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(SigningAlgorithmBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,101 @@
+package br.com.erudio.benchmarks;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.com.erudio.security.jwt.TokenMinter;
+
+/**
+ * Emissao do par access/refresh token: caminho antigo (JWTCreator + issuer calculado a cada
+ * chamada) contra o TokenMinter. Rodar pelo main, de preferencia com -prof gc para ver a alocacao.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenMintingBenchmark {
+
+	Algorithm algorithm;
+	TokenMinter minter;
+	MockHttpServletRequest request;
+	List<String> roles = List.of("ADMIN", "MANAGER");
+	String issuer = "http://localhost:80";
+	long validityInMilliseconds = 3600000;
+
+	@Setup
+	public void setUp() {
+		algorithm = Algorithm.HMAC256("NTNjcjM3".getBytes());
+		minter = new TokenMinter(algorithm);
+		request = new MockHttpServletRequest("POST", "/auth/signin");
+		request.setServerName("localhost");
+		request.setServerPort(80);
+	}
+
+	@Benchmark
+	public void jwtCreator(Blackhole blackhole) {
+		Date now = new Date();
+		Date validity = new Date(now.getTime() + validityInMilliseconds);
+		Date validityRefreshToken = new Date(now.getTime() + (validityInMilliseconds * 3));
+		String issueUrl = ServletUriComponentsBuilder.fromContextPath(request).build().toUriString();
+
+		blackhole.consume(JWT.create()
+				.withClaim("roles", roles)
+				.withIssuedAt(now)
+				.withExpiresAt(validity)
+				.withSubject("leandro")
+				.withIssuer(issueUrl)
+				.sign(algorithm)
+				.strip());
+		blackhole.consume(JWT.create()
+				.withClaim("roles", roles)
+				.withClaim("family", "family")
+				.withJWTId(UUID.randomUUID().toString())
+				.withIssuedAt(now)
+				.withExpiresAt(validityRefreshToken)
+				.withSubject("leandro")
+				.sign(algorithm)
+				.strip());
+	}
+
+	@Benchmark
+	public TokenMinter.MintedTokens tokenMinter() {
+		Date now = new Date();
+		Date validity = new Date(now.getTime() + validityInMilliseconds);
+		Date validityRefreshToken = new Date(now.getTime() + (validityInMilliseconds * 3));
+
+		return minter.mint("leandro", roles, issuer, now, validity, validityRefreshToken,
+				"family", UUID.randomUUID().toString());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(TokenMintingBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+	}
+}
@@ -0,0 +1,118 @@
+package br.com.erudio.integrationtests.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Book;
+import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.repositories.BookSpecifications;
+
+/**
+ * Mesmo criterio de PersonSearchQueryPlanTest para a pesquisa de livros. A tabela books
+ * das migrations tem poucas linhas, entao o teste semeia um catalogo grande antes (fora da
+ * transacao do teste, ja que o ANALYZE faz commit implicito) para que o otimizador escolha
+ * o plano como faria em producao.
+ */
+@SpringBootTest
+@Transactional
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BookSearchQueryPlanTest extends AbstractIntegrationTest {
+
+	private static final int SEED_BOOKS = 20_000;
+	private static final String SEED_AUTHOR = "Seed Author ";
+	private static final LocalDate SEED_FIRST_LAUNCH = LocalDate.of(1970, 1, 1);
+
+	@Autowired
+	BookRepository repository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	long statusOverhead;
+
+	@BeforeAll
+	void seed() {
+		List<Object[]> rows = new ArrayList<>(SEED_BOOKS);
+		for (int i = 0; i < SEED_BOOKS; i++) {
+			rows.add(new Object[] {
+				SEED_AUTHOR + String.format("%04d", i % 1000),
+				"Seed Title " + String.format("%05d", i),
+				(i * 37 % 100_000) / 100.0,
+				Date.valueOf(SEED_FIRST_LAUNCH.plusDays(i))
+			});
+		}
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO books (author, title, price, launch_date) VALUES (?, ?, ?, ?)", rows);
+		jdbcTemplate.execute("ANALYZE TABLE books");
+	}
+
+	@AfterAll
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM books WHERE author LIKE ?", SEED_AUTHOR + "%");
+	}
+
+	@BeforeEach
+	void setUp() {
+		long first = selectScans();
+		statusOverhead = selectScans() - first;
+	}
+
+	private long selectScans() {
+		return jdbcTemplate.queryForObject("SHOW SESSION STATUS LIKE 'Select_scan'",
+				(rs, rowNum) -> rs.getLong("Value"));
+	}
+
+	static Stream<Arguments> supportedFilters() {
+		var from = SEED_FIRST_LAUNCH.plusDays(5000);
+		return Stream.of(
+			Arguments.of("author", "author",
+					BookSpecifications.search(SEED_AUTHOR + "001", null, null, null, null, null)),
+			Arguments.of("title", "title",
+					BookSpecifications.search(null, "Seed Title 012", null, null, null, null)),
+			Arguments.of("price", "price",
+					BookSpecifications.search(null, null, 10.0, 12.0, null, null)),
+			Arguments.of("minPrice", "price",
+					BookSpecifications.search(null, null, 990.0, null, null, null)),
+			Arguments.of("launchDate", "launchDate",
+					BookSpecifications.search(null, null, null, null, from, from.plusDays(30))),
+			Arguments.of("launchedTo", "launchDate",
+					BookSpecifications.search(null, null, null, null, null, SEED_FIRST_LAUNCH.plusDays(30))),
+			Arguments.of("all", "title",
+					BookSpecifications.search(SEED_AUTHOR + "00", "Seed Title 0", 0.0, 500.0, from, from.plusDays(365)))
+		);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("supportedFilters")
+	void testFilterDoesNotScanBooksTable(String filter, String sortBy, Specification<Book> spec) {
+		var pageable = PageRequest.of(1, 12, Sort.by(sortBy).and(Sort.by("id")));
+
+		long before = selectScans();
+		var page = repository.findAll(spec, pageable);
+		long fullScans = selectScans() - before - statusOverhead;
+
+		assertTrue(page.getTotalElements() > 0, "Filtro " + filter + " nao encontrou livros semeados");
+		assertEquals(0, fullScans, "Filtro " + filter + " fez full scan em books");
+	}
+}
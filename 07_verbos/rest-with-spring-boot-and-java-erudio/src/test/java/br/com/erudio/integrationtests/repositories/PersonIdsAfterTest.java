@@ -0,0 +1,43 @@
+package br.com.erudio.integrationtests.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.repositories.PersonSpecifications;
+
+@SpringBootTest
+@Transactional
+public class PersonIdsAfterTest extends AbstractIntegrationTest {
+
+	@Autowired
+	PersonRepository repository;
+
+	@Test
+	void testKeysetWalkVisitsEveryMatchingIdOnce() {
+		var spec = PersonSpecifications.search(null, null, "Female", true, null);
+
+		List<Long> walked = new ArrayList<>();
+		long last = 0;
+		while (true) {
+			var ids = repository.findIdsAfter(spec, last, 37);
+			assertTrue(ids.size() <= 37);
+			if (ids.isEmpty()) break;
+			assertTrue(ids.get(0) > last);
+			walked.addAll(ids);
+			last = ids.get(ids.size() - 1);
+		}
+
+		var expected = repository.findAll(spec).stream().map(person -> person.getId()).sorted().toList();
+		assertFalse(expected.isEmpty());
+		assertEquals(expected, walked);
+	}
+}
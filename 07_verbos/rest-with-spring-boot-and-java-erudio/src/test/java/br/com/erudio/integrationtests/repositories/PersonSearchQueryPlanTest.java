@@ -0,0 +1,77 @@
+package br.com.erudio.integrationtests.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.repositories.PersonSpecifications;
+
+/**
+ * Garante que cada filtro seletivo da pesquisa de pessoas e atendido por indice: o contador
+ * Select_scan da sessao (full scans da primeira tabela) nao pode aumentar ao executar a
+ * pagina e o COUNT gerados pela Specification. Filtros so por gender ou enabled ficam de
+ * fora: com os cerca de 1000 registros da V12 metade da tabela casa, e o otimizador pode
+ * preferir o full scan conforme as estatisticas, o que deixava o teste instavel.
+ */
+@SpringBootTest
+@Transactional
+public class PersonSearchQueryPlanTest extends AbstractIntegrationTest {
+
+	@Autowired
+	PersonRepository repository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	long statusOverhead;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.execute("ANALYZE TABLE person");
+		long first = selectScans();
+		statusOverhead = selectScans() - first;
+	}
+
+	private long selectScans() {
+		return jdbcTemplate.queryForObject("SHOW SESSION STATUS LIKE 'Select_scan'",
+				(rs, rowNum) -> rs.getLong("Value"));
+	}
+
+	static Stream<Arguments> selectiveFilters() {
+		return Stream.of(
+			Arguments.of("firstName", PersonSpecifications.search("Ne", null, null, null, null)),
+			Arguments.of("lastName", PersonSpecifications.search(null, "Ed", null, null, null)),
+			Arguments.of("address", PersonSpecifications.search(null, null, null, null, "668")),
+			Arguments.of("firstName+gender", PersonSpecifications.search("Ne", null, "Female", null, null)),
+			Arguments.of("firstName+enabled", PersonSpecifications.search("Ne", null, null, true, null)),
+			Arguments.of("all", PersonSpecifications.search("Ni", "Ki", "Female", true, "668"))
+		);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("selectiveFilters")
+	void testFilterDoesNotScanPersonTable(String filter, Specification<Person> spec) {
+		var pageable = PageRequest.of(1, 12, Sort.by("firstName").and(Sort.by("id")));
+
+		long before = selectScans();
+		repository.findAll(spec, pageable);
+		long fullScans = selectScans() - before - statusOverhead;
+
+		assertEquals(0, fullScans, "Filtro " + filter + " fez full scan em person");
+	}
+}
@@ -0,0 +1,116 @@
+package br.com.erudio.integrationtests.repositories;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonServices;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Invalidacao do cache de segundo nivel de Person: update, disable e delete pela entidade
+ * alteram so a entrada da pessoa; o disable em massa (JPQL) invalida a regiao inteira.
+ */
+@SpringBootTest
+public class PersonSecondLevelCacheTest extends AbstractIntegrationTest {
+
+	@Autowired
+	PersonServices service;
+
+	@Autowired
+	PersonRepository repository;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	List<Long> created = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		entityManagerFactory.getCache().evictAll();
+	}
+
+	@AfterEach
+	void tearDown() {
+		repository.deleteAllById(created.stream().filter(repository::existsById).toList());
+	}
+
+	private long createCached(String firstName) {
+		var person = new PersonVO();
+		person.setFirstName(firstName);
+		person.setLastName("Cache");
+		person.setAddress("Uberlandia");
+		person.setGender("Male");
+		person.setEnabled(true);
+		long key = service.create(person).getKey();
+		created.add(key);
+		service.findByKey(key);
+		assertTrue(isCached(key));
+		return key;
+	}
+
+	private boolean isCached(long key) {
+		return entityManagerFactory.getCache().contains(Person.class, key);
+	}
+
+	@Test
+	void testUpdateRewritesCachedEntry() {
+		long key = createCached("Ayrton");
+
+		var person = service.findByKey(key);
+		person.setFirstName("Senna");
+		service.update(person);
+
+		assertTrue(isCached(key));
+		assertEquals("Senna", service.findByKey(key).getFirstName());
+	}
+
+	@Test
+	void testDisableRewritesCachedEntry() {
+		long key = createCached("Ayrton");
+
+		service.disablePerson(key);
+
+		assertFalse(service.findByKey(key).getEnabled());
+	}
+
+	@Test
+	void testDeleteEvictsCachedEntry() {
+		long key = createCached("Ayrton");
+		long other = createCached("Nelson");
+
+		service.delete(key);
+
+		assertFalse(isCached(key));
+		assertTrue(isCached(other));
+	}
+
+	@Test
+	void testBulkDisableEvictsWholeRegion() {
+		long key = createCached("Ayrton");
+		long other = createCached("Nelson");
+
+		int disabled = transactionTemplate.execute(status -> repository.disableAll(List.of(key)));
+
+		assertEquals(1, disabled);
+		assertFalse(isCached(key));
+		assertFalse(isCached(other));
+		assertFalse(service.findByKey(key).getEnabled());
+		assertTrue(service.findByKey(other).getEnabled());
+	}
+}
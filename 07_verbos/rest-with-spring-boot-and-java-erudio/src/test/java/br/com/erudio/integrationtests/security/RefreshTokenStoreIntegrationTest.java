@@ -0,0 +1,88 @@
+package br.com.erudio.integrationtests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.com.erudio.exceptions.InvalidJwtAuthenticationException;
+import br.com.erudio.integrationtests.testcontainers.AbstractIntegrationTest;
+import br.com.erudio.repositories.RefreshTokenRepository;
+import br.com.erudio.security.jwt.RefreshTokenStore;
+
+/**
+ * Rotacao e revogacao gravadas no MySQL: cada consume roda na propria transacao, como
+ * faria uma requisicao de refresh em qualquer no.
+ */
+@SpringBootTest
+public class RefreshTokenStoreIntegrationTest extends AbstractIntegrationTest {
+
+	@Autowired
+	RefreshTokenStore store;
+
+	@Autowired
+	RefreshTokenRepository repository;
+
+	// O store e compartilhado pelo contexto e lembra tokens e familias de outros testes
+	String run = UUID.randomUUID().toString();
+
+	Date expiresAt = new Date(System.currentTimeMillis() + 60000);
+
+	@AfterEach
+	void tearDown() {
+		repository.deleteAll();
+	}
+
+	private String id(String name) {
+		return name + "-" + run;
+	}
+
+	private void register(String tokenId, String familyId) {
+		store.register(id(tokenId), id(familyId), "leandro", expiresAt);
+	}
+
+	private void consume(String tokenId, String familyId) {
+		store.consume(id(tokenId), id(familyId), expiresAt);
+	}
+
+	@Test
+	void testRotationConsumesEachTokenOnce() {
+		register("token-1", "family-1");
+		consume("token-1", "family-1");
+		register("token-2", "family-1");
+		consume("token-2", "family-1");
+
+		assertTrue(repository.findByTokenId(id("token-1")).getConsumed());
+		assertTrue(repository.findByTokenId(id("token-2")).getConsumed());
+		assertFalse(repository.findByTokenId(id("token-2")).getRevoked());
+	}
+
+	@Test
+	void testReuseRevokesWholeFamily() {
+		register("token-1", "family-1");
+		consume("token-1", "family-1");
+		register("token-2", "family-1");
+		register("other", "family-2");
+
+		var e = assertThrows(InvalidJwtAuthenticationException.class, () -> consume("token-1", "family-1"));
+		assertEquals("Refresh token reutilizado, sessão revogada", e.getMessage());
+
+		assertTrue(repository.findByTokenId(id("token-1")).getRevoked());
+		assertTrue(repository.findByTokenId(id("token-2")).getRevoked());
+		assertFalse(repository.findByTokenId(id("other")).getRevoked());
+		assertThrows(InvalidJwtAuthenticationException.class, () -> consume("token-2", "family-1"));
+	}
+
+	@Test
+	void testTokenFromAnotherFamilyIsRejected() {
+		register("token-1", "family-1");
+
+		assertThrows(InvalidJwtAuthenticationException.class, () -> consume("token-1", "family-2"));
+		assertFalse(repository.findByTokenId(id("token-1")).getConsumed());
+	}
+}
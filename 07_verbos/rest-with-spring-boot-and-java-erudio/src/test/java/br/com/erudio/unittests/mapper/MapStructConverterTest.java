@@ -0,0 +1,122 @@
+package br.com.erudio.unittests.mapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.data.vo.v2.PersonVOV2;
+import br.com.erudio.mapper.BookVOMapper;
+import br.com.erudio.mapper.DozerMapper;
+import br.com.erudio.mapper.PersonVOMapper;
+import br.com.erudio.mapper.custom.PersonMapper;
+import br.com.erudio.model.Book;
+import br.com.erudio.model.Person;
+import br.com.erudio.unittests.mapper.mocks.MockBook;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+
+public class MapStructConverterTest {
+
+    MockPerson inputPerson;
+    MockBook inputBook;
+    PersonVOMapper personVOMapper = Mappers.getMapper(PersonVOMapper.class);
+    BookVOMapper bookVOMapper = Mappers.getMapper(BookVOMapper.class);
+
+    @BeforeEach
+    public void setUp() {
+        inputPerson = new MockPerson();
+        inputBook = new MockBook();
+    }
+
+    @Test
+    public void parseEntityToVOTest() {
+        Person entity = inputPerson.mockEntity(7);
+        entity.setEnabled(true);
+        entity.setVersion(3L);
+
+        PersonVO output = personVOMapper.toVO(entity);
+        assertEquals(7L, output.getKey());
+        assertEquals("First Name Test7", output.getFirstName());
+        assertEquals("Last Name Test7", output.getLastName());
+        assertEquals("Addres Test7", output.getAddress());
+        assertEquals("Female", output.getGender());
+        assertTrue(output.getEnabled());
+        assertEquals(3L, output.getVersion());
+        assertEquals(DozerMapper.parseObject(entity, PersonVO.class), output);
+    }
+
+    @Test
+    public void parseEntityListToVOListTest() {
+        List<PersonVO> outputList = personVOMapper.toVOs(inputPerson.mockEntityList());
+
+        assertEquals(14, outputList.size());
+        assertEquals(12L, outputList.get(12).getKey());
+        assertEquals("First Name Test12", outputList.get(12).getFirstName());
+        assertEquals("Male", outputList.get(12).getGender());
+    }
+
+    @Test
+    public void parseVOToEntityTest() {
+        PersonVO vo = inputPerson.mockVO(5);
+        vo.setVersion(2L);
+
+        Person output = personVOMapper.toEntity(vo);
+        assertEquals(5L, output.getId());
+        assertEquals("First Name Test5", output.getFirstName());
+        assertEquals("Last Name Test5", output.getLastName());
+        assertEquals("Addres Test5", output.getAddress());
+        assertEquals("Female", output.getGender());
+        assertEquals(2L, output.getVersion());
+    }
+
+    @Test
+    public void parseBookEntityToVOTest() {
+        Book entity = inputBook.mockEntity(4);
+        entity.setLaunchDate(java.sql.Date.valueOf("2017-11-29"));
+        entity.setVersion(1L);
+
+        BookVO output = bookVOMapper.toVO(entity);
+        assertEquals(4L, output.getKey());
+        assertEquals("Some Author4", output.getAuthor());
+        assertEquals("Some Title4", output.getTitle());
+        assertEquals(25D, output.getPrice());
+        assertEquals(1L, output.getVersion());
+        assertEquals(java.util.Date.class, output.getLaunchDate().getClass());
+        assertEquals(entity.getLaunchDate().getTime(), output.getLaunchDate().getTime());
+        assertEquals(DozerMapper.parseObject(entity, BookVO.class), output);
+    }
+
+    @Test
+    public void parseBookVOToEntityTest() {
+        BookVO vo = inputBook.mockVO(9);
+
+        Book output = bookVOMapper.toEntity(vo);
+        assertEquals(9L, output.getId());
+        assertEquals("Some Author9", output.getAuthor());
+        assertEquals("Some Title9", output.getTitle());
+        assertEquals(25D, output.getPrice());
+        assertNotSame(vo.getLaunchDate(), output.getLaunchDate());
+        assertEquals(vo.getLaunchDate(), output.getLaunchDate());
+    }
+
+    @Test
+    public void parsePersonV2Test() {
+        PersonMapper mapper = Mappers.getMapper(PersonMapper.class);
+
+        PersonVOV2 vo = mapper.convertEntityToVo(inputPerson.mockEntity(2));
+        assertEquals(2L, vo.getId());
+        assertEquals("First Name Test2", vo.getFirstName());
+        assertEquals("Male", vo.getGender());
+        assertNotNull(vo.getBirthDay());
+
+        Person entity = mapper.convertVoToEntity(vo);
+        assertEquals(2L, entity.getId());
+        assertEquals("Last Name Test2", entity.getLastName());
+        assertEquals("Addres Test2", entity.getAddress());
+    }
+}
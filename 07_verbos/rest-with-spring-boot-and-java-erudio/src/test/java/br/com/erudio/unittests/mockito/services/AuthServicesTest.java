@@ -0,0 +1,141 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.data.vo.v1.security.AccountCredentialsVO;
+import br.com.erudio.data.vo.v1.security.TokenVO;
+import br.com.erudio.model.User;
+import br.com.erudio.repositories.UserRepository;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.services.AuthServices;
+import br.com.erudio.services.SigninExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServicesTest {
+
+	private static final String ISSUER = "http://localhost:80";
+
+	@InjectMocks
+	private AuthServices service;
+
+	@Mock
+	AuthenticationManager authenticationManager;
+
+	@Mock
+	JwtTokenProvider tokenProvider;
+
+	@Mock
+	UserRepository repository;
+
+	SigninExecutor executor;
+
+	@BeforeEach
+	void setUp() {
+		executor = new SigninExecutor(2, 8, 1, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(service, "signinExecutor", executor);
+		when(tokenProvider.currentIssuer()).thenReturn(ISSUER);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	private static User user(String... roles) {
+		User user = mock(User.class);
+		when(user.getRoles()).thenReturn(List.of(roles));
+		return user;
+	}
+
+	@Test
+	void testConcurrentIdenticalSigninsShareOneAuthentication() throws Exception {
+		var entered = new CountDownLatch(1);
+		var release = new CountDownLatch(1);
+		var authentication = new UsernamePasswordAuthenticationToken(user("ADMIN"), null, List.of());
+		when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+			entered.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return authentication;
+		});
+		var token = new TokenVO();
+		when(tokenProvider.createAccessToken("leandro", List.of("ADMIN"), ISSUER)).thenReturn(token);
+
+		var first = service.signin(new AccountCredentialsVO("leandro", "admin123"));
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+		var second = service.signin(new AccountCredentialsVO("leandro", "admin123"));
+
+		assertSame(first, second);
+		@SuppressWarnings("unchecked")
+		var inFlight = (Map<String, ?>) ReflectionTestUtils.getField(service, "signinsInFlight");
+		assertEquals(1, inFlight.size());
+		assertFalse(inFlight.keySet().iterator().next().contains("admin123"));
+
+		release.countDown();
+		assertSame(token, first.get(5, TimeUnit.SECONDS).getBody());
+		verify(authenticationManager, times(1)).authenticate(any());
+		assertTrue(inFlight.isEmpty());
+	}
+
+	@Test
+	void testDifferentPasswordsAreNotCoalesced() throws Exception {
+		var authentication = new UsernamePasswordAuthenticationToken(user("ADMIN"), null, List.of());
+		when(authenticationManager.authenticate(any())).thenReturn(authentication);
+		when(tokenProvider.createAccessToken("leandro", List.of("ADMIN"), ISSUER)).thenReturn(new TokenVO());
+
+		service.signin(new AccountCredentialsVO("leandro", "admin123")).get(5, TimeUnit.SECONDS);
+		service.signin(new AccountCredentialsVO("leandro", "admin234")).get(5, TimeUnit.SECONDS);
+
+		verify(authenticationManager, times(2)).authenticate(any());
+	}
+
+	@Test
+	void testReusesAuthenticatedPrincipal() throws Exception {
+		var authentication = new UsernamePasswordAuthenticationToken(user("ADMIN", "MANAGER"), null, List.of());
+		when(authenticationManager.authenticate(any())).thenReturn(authentication);
+		var token = new TokenVO();
+		when(tokenProvider.createAccessToken("leandro", List.of("ADMIN", "MANAGER"), ISSUER)).thenReturn(token);
+
+		var response = service.signin(new AccountCredentialsVO("leandro", "admin123")).get(5, TimeUnit.SECONDS);
+
+		assertSame(token, response.getBody());
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	void testLooksUpUserWhenPrincipalIsNotAnEntity() throws Exception {
+		var authentication = new UsernamePasswordAuthenticationToken("leandro", null, List.of());
+		when(authenticationManager.authenticate(any())).thenReturn(authentication);
+		var user = user("ADMIN");
+		when(repository.findByUsername("leandro")).thenReturn(user);
+		var token = new TokenVO();
+		when(tokenProvider.createAccessToken("leandro", List.of("ADMIN"), ISSUER)).thenReturn(token);
+
+		var response = service.signin(new AccountCredentialsVO("leandro", "admin123")).get(5, TimeUnit.SECONDS);
+
+		assertSame(token, response.getBody());
+		verify(repository).findByUsername("leandro");
+	}
+}
@@ -1,8 +1,13 @@
 package br.com.erudio.unittests.mockito.services;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,17 +16,38 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.exceptions.InvalidPatchException;
 import br.com.erudio.exceptions.RequiredObjectsIsNullException;
+import br.com.erudio.exceptions.ResourceConflictException;
+import br.com.erudio.exceptions.ResourceNotFoundException;
+import br.com.erudio.mapper.BookVOMapper;
 import br.com.erudio.model.Book;
 import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.services.BookCatalog;
+import br.com.erudio.services.BookCatalogSnapshot;
 import br.com.erudio.services.BookServices;
 import br.com.erudio.unittests.mapper.mocks.MockBook;
+import br.com.erudio.util.KeysetCursor;
+import br.com.erudio.util.MergePatch;
+import br.com.erudio.util.TotalMode;
 
 @TestInstance(Lifecycle.PER_CLASS)
 @ExtendWith(MockitoExtension.class)
@@ -35,10 +61,17 @@ class BookServicesTest {
 	@Mock
 	BookRepository repository;
 	
+	@Mock
+	BookCatalog catalog;
+	
 	@BeforeEach
 	void setUpMocks() throws Exception {
 		input = new MockBook();
 		MockitoAnnotations.openMocks(this);
+		ReflectionTestUtils.setField(service, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(service, "mapper", Mappers.getMapper(BookVOMapper.class));
+		ReflectionTestUtils.setField(service, "assembler",
+				new PagedResourcesAssembler<BookVO>(new HateoasPageableHandlerMethodArgumentResolver(), null));
 	}
 
 	@Test
@@ -125,6 +158,24 @@ class BookServicesTest {
 		assertNotNull(result.getLaunchDate());
 	}
 		
+	@Test
+	void testUpdateWithStaleVersion() {
+		Book entity = input.mockEntity(1);
+		entity.setVersion(3L);
+		
+		BookVO vo = input.mockVO(1);
+		vo.setKey(1L);
+		vo.setPrice(10D);
+		vo.setVersion(2L);
+		
+		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		
+		assertThrows(ResourceConflictException.class, () -> service.update(vo));
+		assertEquals(25D, entity.getPrice());
+		verify(repository, never()).save(any());
+		verify(catalog, never()).put(any());
+	}
+	
 	@Test
 	void testUpdateWithNullBook() {
 		Exception exception = assertThrows(RequiredObjectsIsNullException.class, () -> {
@@ -149,16 +200,20 @@ class BookServicesTest {
 	
 	@Test
 	void testFindAll() {
-		List<Book> list = input.mockEntityList(); 
+		List<BookVO> list = input.mockVOList();
+		Pageable pageable = PageRequest.of(0, 14, Sort.by(Sort.Direction.ASC, "title"));
+		
+		when(repository.findAllVOs(pageable)).thenReturn(new PageImpl<>(list, pageable, 14));
 		
-		when(repository.findAll()).thenReturn(list);
+		var page = service.findAll(pageable, "title", TotalMode.EXACT);
 		
-		var people = service.findAll();
+		assertNotNull(page);
+		assertEquals(14, page.getMetadata().getTotalElements());
 		
-		assertNotNull(people);
-		assertEquals(14, people.size());
+		var books = new ArrayList<>(page.getContent());
+		assertEquals(14, books.size());
 		
-		var bookOne = people.get(1);
+		var bookOne = books.get(1).getContent();
 		
 		assertNotNull(bookOne);
 		assertNotNull(bookOne.getKey());
@@ -170,7 +225,7 @@ class BookServicesTest {
 		assertEquals(25D, bookOne.getPrice());
 		assertNotNull(bookOne.getLaunchDate());
 		
-		var bookFour = people.get(4);
+		var bookFour = books.get(4).getContent();
 		
 		assertNotNull(bookFour);
 		assertNotNull(bookFour.getKey());
@@ -182,7 +237,7 @@ class BookServicesTest {
 		assertEquals(25D, bookFour.getPrice());
 		assertNotNull(bookFour.getLaunchDate());
 		
-		var bookSeven = people.get(7);
+		var bookSeven = books.get(7).getContent();
 		
 		assertNotNull(bookSeven);
 		assertNotNull(bookSeven.getKey());
@@ -194,5 +249,79 @@ class BookServicesTest {
 		assertEquals(25D, bookSeven.getPrice());
 		assertNotNull(bookSeven.getLaunchDate());
 	}
+	
+	@Test
+	void testReadsComeFromLoadedSnapshot() {
+		// ids comecam em 1, como no banco; o cursor vazio parte do id 0
+		when(catalog.snapshot()).thenReturn(BookCatalogSnapshot.of(input.mockVOList().subList(1, 14)));
+		Pageable pageable = PageRequest.of(1, 5, Sort.by(Sort.Direction.DESC, "title").and(Sort.by(Sort.Direction.DESC, "id")));
+		
+		var page = service.findAll(pageable, "title", TotalMode.APPROXIMATE);
+		var books = new ArrayList<>(page.getContent());
+		
+		assertEquals(13, page.getMetadata().getTotalElements());
+		assertEquals(5, books.size());
+		assertEquals("Some Title4", books.get(0).getContent().getTitle());
+		assertTrue(books.get(0).getContent().toString().contains("links: [</book/4>;rel=\"self\"]"));
+		
+		var cursorPage = new ArrayList<>(service.findAll("", 3, Sort.Direction.ASC).getContent());
+		assertEquals(List.of(1L, 2L, 3L), cursorPage.stream().map(book -> book.getContent().getKey()).toList());
+		
+		assertEquals("Some Author7", service.findByKey(7L).getAuthor());
+		assertThrows(ResourceNotFoundException.class, () -> service.findByKey(99L));
+		
+		verifyNoInteractions(repository);
+	}
+	
+	@Test
+	void testFindAllByCursor() {
+		List<BookVO> list = input.mockVOList().subList(4, 7);
+		
+		when(repository.findPageAfter(3L, PageRequest.of(0, 3))).thenReturn(list);
+		
+		var cursor = new KeysetCursor(null, 3L).encode();
+		var page = service.findAll(cursor, 2, Sort.Direction.ASC);
+		
+		var books = new ArrayList<>(page.getContent());
+		assertEquals(2, books.size());
+		assertEquals(4L, books.get(0).getContent().getKey());
+		assertEquals(5L, books.get(1).getContent().getKey());
+		
+		var next = page.getLink(IanaLinkRelations.NEXT).orElseThrow();
+		assertTrue(next.getHref().contains("cursor=" + new KeysetCursor(null, 5L).encode()));
+		assertNull(page.getMetadata());
+	}
+	
+	@Test
+	void testPatch() throws Exception {
+		Book entity = input.mockEntity(1);
+		entity.setVersion(0L);
+		
+		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		when(repository.saveAndFlush(entity)).thenAnswer(invocation -> {
+			entity.setVersion(entity.getVersion() + 1);
+			return entity;
+		});
+		
+		var patch = new ObjectMapper().readTree("{\"price\":49.9}");
+		var result = service.patch(1L, MergePatch.of(patch, "W/\"0\""));
+		
+		assertEquals(49.9D, result.getPrice());
+		assertEquals("Some Title1", result.getTitle());
+		assertEquals(1L, result.getVersion());
+	}
+	
+	@Test
+	void testPatchRemovingRequiredField() throws Exception {
+		Book entity = input.mockEntity(1);
+		entity.setVersion(0L);
+		
+		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		
+		var patch = new ObjectMapper().readTree("{\"title\":null}");
+		
+		assertThrows(InvalidPatchException.class, () -> service.patch(1L, MergePatch.of(patch, "0")));
+		assertEquals("Some Title1", entity.getTitle());
+	}
 
 }
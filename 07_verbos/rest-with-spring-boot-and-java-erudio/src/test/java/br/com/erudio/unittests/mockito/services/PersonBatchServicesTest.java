@@ -0,0 +1,125 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.data.vo.v1.PersonBatchItemVO;
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonBatchServices;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class PersonBatchServicesTest {
+
+	@Mock
+	PersonRepository repository;
+
+	@Mock
+	EntityManager entityManager;
+
+	@Mock
+	PlatformTransactionManager transactionManager;
+
+	PersonBatchServices service;
+
+	@BeforeEach
+	void setUp() {
+		service = new PersonBatchServices(repository, entityManager, transactionManager, new ObjectMapper(), 2);
+	}
+
+	private static ByteArrayInputStream body(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String person(long key, String firstName) {
+		return "{\"key\":" + key + ",\"first_name\":\"" + firstName
+				+ "\",\"last_name\":\"Silva\",\"address\":\"Rua 1\",\"gender\":\"Male\"}";
+	}
+
+	@Test
+	void testNdjsonCreatesUpdatesAndReportsFailuresPerItem() throws Exception {
+		Person existing = new MockPerson().mockEntity(5);
+		existing.setId(5L);
+		when(repository.findAllById(any())).thenAnswer(invocation -> {
+			Set<?> keys = invocation.getArgument(0);
+			return keys.contains(5L) ? List.of(existing) : List.of();
+		});
+		AtomicLong ids = new AtomicLong(100);
+		doAnswer(invocation -> {
+			invocation.<Person>getArgument(0).setId(ids.incrementAndGet());
+			return null;
+		}).when(entityManager).persist(any(Person.class));
+
+		var result = service.upsert(body(String.join("\n",
+				person(0, "Ana"),
+				person(5, "Bruno"),
+				"{\"key\":0,\"first_name\":\"Sem sobrenome\"}",
+				person(9, "Carla"),
+				person(0, "Davi"))));
+
+		assertEquals(2, result.getCreated());
+		assertEquals(1, result.getUpdated());
+		assertEquals(2, result.getFailed());
+		assertEquals(List.of(PersonBatchItemVO.CREATED, PersonBatchItemVO.UPDATED, PersonBatchItemVO.FAILED,
+				PersonBatchItemVO.FAILED, PersonBatchItemVO.CREATED),
+				result.getItems().stream().map(PersonBatchItemVO::getStatus).toList());
+		assertEquals("Bruno", existing.getFirstName());
+		assertEquals(101L, result.getItems().get(0).getKey());
+		verify(entityManager, times(3)).flush();
+	}
+
+	@Test
+	void testStaleVersionFailsOnlyThatItem() throws Exception {
+		Person existing = new MockPerson().mockEntity(5);
+		existing.setId(5L);
+		existing.setVersion(3L);
+		when(repository.findAllById(any())).thenReturn(List.of(existing));
+		doAnswer(invocation -> null).when(entityManager).persist(any(Person.class));
+
+		var result = service.upsert(body(String.join("\n",
+				person(5, "Bruno").replace("{", "{\"version\":2,"),
+				person(0, "Ana"))));
+
+		assertEquals(1, result.getCreated());
+		assertEquals(1, result.getFailed());
+		assertEquals(PersonBatchItemVO.FAILED, result.getItems().get(0).getStatus());
+		assertEquals("First Name Test5", existing.getFirstName());
+	}
+
+	@Test
+	void testJsonArrayIsAccepted() throws Exception {
+		doAnswer(invocation -> null).when(entityManager).persist(any(Person.class));
+
+		var result = service.upsert(body("[" + person(0, "Ana") + "," + person(0, "Bia") + "]"));
+
+		assertEquals(2, result.getCreated());
+		verify(entityManager, times(2)).persist(any(Person.class));
+	}
+
+	@Test
+	void testMalformedContentStopsAfterLastValidItem() throws Exception {
+		var result = service.upsert(body(person(0, "Ana") + "\n{ quebrado"));
+
+		assertEquals(1, result.getCreated());
+		assertEquals(1, result.getFailed());
+		assertEquals(1, result.getItems().get(1).getIndex());
+	}
+}
@@ -0,0 +1,102 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.erudio.data.vo.v1.PersonDisableVO;
+import br.com.erudio.exceptions.RequiredObjectsIsNullException;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonDisableServices;
+
+@ExtendWith(MockitoExtension.class)
+class PersonDisableServicesTest {
+
+	@Mock
+	PersonRepository repository;
+
+	@Mock
+	PlatformTransactionManager transactionManager;
+
+	PersonDisableServices service;
+
+	@BeforeEach
+	void setUp() {
+		service = new PersonDisableServices(repository, transactionManager, 2);
+	}
+
+	@Test
+	void testIdsAreDisabledInChunks() {
+		List<Collection<Long>> statements = new ArrayList<>();
+		when(repository.disableAll(any())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			statements.add(List.copyOf(ids));
+			return ids.size();
+		});
+		var request = new PersonDisableVO();
+		request.setIds(Arrays.asList(1L, 2L, 2L, null, 3L, 4L, 5L));
+
+		var result = service.disable(request);
+
+		assertEquals(5, result.getDisabled());
+		assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), statements);
+		verify(transactionManager, times(3)).commit(any());
+	}
+
+	@Test
+	void testRequestWithoutIdsOrFilterIsRejected() {
+		var exception = assertThrows(RequiredObjectsIsNullException.class,
+				() -> service.disable(new PersonDisableVO()));
+
+		assertEquals("Informe os ids ou ao menos um filtro!", exception.getMessage());
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	void testFilterOnEmptyTableDisablesNothing() {
+		var request = new PersonDisableVO();
+		request.setGender("Male");
+
+		when(repository.findIdsAfter(any(), eq(0L), eq(2))).thenReturn(List.of());
+
+		assertEquals(0, service.disable(request).getDisabled());
+		verify(repository, never()).disableAll(any());
+		verifyNoInteractions(transactionManager);
+	}
+
+	@Test
+	void testFilterWalksMatchingIdsByKeyset() {
+		List<Collection<Long>> statements = new ArrayList<>();
+		when(repository.findIdsAfter(any(), eq(0L), eq(2))).thenReturn(List.of(3L, 7L));
+		when(repository.findIdsAfter(any(), eq(7L), eq(2))).thenReturn(List.of(120L, 4000L));
+		when(repository.findIdsAfter(any(), eq(4000L), eq(2))).thenReturn(List.of(4001L));
+		when(repository.disableAll(any())).thenAnswer(invocation -> {
+			Collection<Long> ids = invocation.getArgument(0);
+			statements.add(List.copyOf(ids));
+			return ids.size();
+		});
+		var request = new PersonDisableVO();
+		request.setGender("Male");
+
+		var result = service.disable(request);
+
+		assertEquals(5, result.getDisabled());
+		assertEquals(List.of(List.of(3L, 7L), List.of(120L, 4000L), List.of(4001L)), statements);
+		verify(repository, times(3)).findIdsAfter(any(), anyLong(), eq(2));
+		verify(transactionManager, times(3)).commit(any());
+	}
+}
@@ -0,0 +1,96 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.model.Person;
+import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.services.PersonExportServices;
+import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import br.com.erudio.util.ExportFormat;
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class PersonExportServicesTest {
+
+	@Mock
+	PersonRepository repository;
+
+	@Mock
+	EntityManager entityManager;
+
+	PersonExportServices service;
+
+	MockPerson input;
+
+	@BeforeEach
+	void setUp() {
+		service = new PersonExportServices(repository, entityManager, new ObjectMapper(), 2);
+		input = new MockPerson();
+	}
+
+	private Stream<Person> people(int count) {
+		return IntStream.range(1, count + 1).mapToObj(input::mockEntity);
+	}
+
+	@Test
+	void testNdjsonWritesOneObjectPerLineAndClearsPeriodically() throws Exception {
+		when(repository.streamAll()).thenReturn(people(5));
+		var out = new ByteArrayOutputStream();
+
+		long count = service.export(ExportFormat.NDJSON, out);
+
+		assertEquals(5, count);
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(5, lines.length);
+
+		var mapper = new ObjectMapper();
+		var first = mapper.readTree(lines[0]);
+		assertEquals(1, first.get("key").asLong());
+		assertEquals("First Name Test1", first.get("first_name").asText());
+		assertEquals("Last Name Test1", first.get("last_name").asText());
+		assertEquals("Addres Test1", first.get("address").asText());
+		assertEquals("Female", first.get("gender").asText());
+		assertTrue(first.get("enabled").isNull());
+
+		verify(entityManager, times(2)).clear();
+	}
+
+	@Test
+	void testCsvWritesHeaderAndEscapesValues() throws Exception {
+		Person person = input.mockEntity(1);
+		person.setEnabled(true);
+		person.setAddress("Rua \"A\", 10");
+		when(repository.streamAll()).thenReturn(Stream.of(person));
+		var out = new ByteArrayOutputStream();
+
+		service.export(ExportFormat.CSV, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertEquals("key,first_name,last_name,address,gender,enabled", lines[0]);
+		assertEquals("1,First Name Test1,Last Name Test1,\"Rua \"\"A\"\", 10\",Female,true", lines[1]);
+		verify(entityManager, never()).clear();
+	}
+
+	@Test
+	void testNegotiateFormat() {
+		assertEquals(ExportFormat.NDJSON, ExportFormat.negotiate(null));
+		assertEquals(ExportFormat.NDJSON, ExportFormat.negotiate("*/*"));
+		assertEquals(ExportFormat.CSV, ExportFormat.negotiate("text/csv"));
+		assertEquals(ExportFormat.CSV, ExportFormat.negotiate("application/x-ndjson;q=0.5, text/csv"));
+		assertEquals(ExportFormat.NDJSON, ExportFormat.negotiate("text/csv;q=0.2, application/x-ndjson"));
+	}
+}
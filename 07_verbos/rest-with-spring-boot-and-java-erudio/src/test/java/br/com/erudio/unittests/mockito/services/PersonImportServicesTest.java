@@ -0,0 +1,150 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.erudio.config.FileStorageConfig;
+import br.com.erudio.model.Person;
+import br.com.erudio.model.PersonImportJob;
+import br.com.erudio.repositories.PersonImportJobRepository;
+import br.com.erudio.services.FileStorageService;
+import br.com.erudio.services.PersonImportServices;
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class PersonImportServicesTest {
+
+	@Mock
+	PersonImportJobRepository repository;
+
+	@Mock
+	EntityManager entityManager;
+
+	@Mock
+	PlatformTransactionManager transactionManager;
+
+	@TempDir
+	Path uploadDir;
+
+	PersonImportServices service;
+
+	List<Person> persisted = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		var config = new FileStorageConfig();
+		config.setUploadDir(uploadDir.toString());
+		service = new PersonImportServices(repository, entityManager, transactionManager, new ObjectMapper(),
+				new FileStorageService(config), 2, 900000);
+		lenient().when(repository.save(any(PersonImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		lenient().doAnswer(invocation -> persisted.add(invocation.getArgument(0)))
+			.when(entityManager).persist(any(Person.class));
+	}
+
+	private PersonImportJob job(String format, String content) throws Exception {
+		var job = new PersonImportJob("pessoas." + format, "job." + format, format);
+		job.setId(1L);
+		Files.createDirectories(uploadDir.resolve("imports"));
+		Files.writeString(uploadDir.resolve("imports").resolve(job.getStoredFile()), content, StandardCharsets.UTF_8);
+		when(repository.findById(1L)).thenReturn(Optional.of(job));
+		return job;
+	}
+
+	@Test
+	void testCsvIsImportedInChunksWithProgress() throws Exception {
+		var job = job(PersonImportServices.CSV, String.join("\n",
+				"key,first_name,last_name,address,gender,enabled",
+				"1,Ana,Silva,\"Rua 1, casa\",Female,true",
+				",Bruno,Souza,Rua 2,Male,false",
+				",Sem endereco,Souza,,Male,",
+				",Davi,Lima,Rua 4,Male,"));
+
+		service.process(1L);
+
+		assertEquals(PersonImportJob.COMPLETED, job.getStatus());
+		assertEquals(4, job.getCommittedRows());
+		assertEquals(3, job.getCreatedRows());
+		assertEquals(1, job.getFailedRows());
+		assertTrue(job.getMessage().startsWith("Registro 3:"));
+		assertEquals(List.of("Ana", "Bruno", "Davi"), persisted.stream().map(Person::getFirstName).toList());
+		assertEquals("Rua 1, casa", persisted.get(0).getAddress());
+		assertFalse(persisted.get(1).getEnabled());
+		verify(entityManager, times(2)).flush();
+		assertFalse(Files.exists(uploadDir.resolve("imports").resolve(job.getStoredFile())));
+	}
+
+	@Test
+	void testResumeSkipsCommittedRows() throws Exception {
+		var job = job(PersonImportServices.NDJSON, String.join("\n",
+				"{\"first_name\":\"Ana\",\"last_name\":\"Silva\",\"address\":\"Rua 1\",\"gender\":\"Female\"}",
+				"{\"first_name\":\"Bia\",\"last_name\":\"Silva\",\"address\":\"Rua 2\",\"gender\":\"Female\"}",
+				"{\"first_name\":\"Caio\",\"last_name\":\"Silva\",\"address\":\"Rua 3\",\"gender\":\"Male\"}"));
+		job.setStatus(PersonImportJob.FAILED);
+		job.setCommittedRows(2);
+		job.setCreatedRows(2);
+
+		service.process(1L);
+
+		assertEquals(PersonImportJob.COMPLETED, job.getStatus());
+		assertEquals(3, job.getCommittedRows());
+		assertEquals(3, job.getCreatedRows());
+		assertEquals(List.of("Caio"), persisted.stream().map(Person::getFirstName).toList());
+	}
+
+	@Test
+	void testMalformedContentFailsKeepingLastCommittedChunk() throws Exception {
+		var job = job(PersonImportServices.NDJSON, String.join("\n",
+				"{\"first_name\":\"Ana\",\"last_name\":\"Silva\",\"address\":\"Rua 1\",\"gender\":\"Female\"}",
+				"{\"first_name\":\"Bia\",\"last_name\":\"Silva\",\"address\":\"Rua 2\",\"gender\":\"Female\"}",
+				"{ quebrado"));
+
+		service.process(1L);
+
+		assertEquals(PersonImportJob.FAILED, job.getStatus());
+		assertEquals(2, job.getCommittedRows());
+		assertNotNull(job.getMessage());
+		assertTrue(Files.exists(uploadDir.resolve("imports").resolve(job.getStoredFile())));
+	}
+
+	@Test
+	void testJobClaimedElsewhereIsNotProcessed() {
+		when(repository.claim(eq(1L), any(), any())).thenReturn(0);
+
+		assertFalse(service.processIfClaimed(1L));
+
+		verify(repository, never()).findById(anyLong());
+		verifyNoInteractions(entityManager);
+	}
+
+	@Test
+	void testClaimedJobIsProcessed() throws Exception {
+		var job = job(PersonImportServices.NDJSON,
+				"{\"first_name\":\"Ana\",\"last_name\":\"Silva\",\"address\":\"Rua 1\",\"gender\":\"Female\"}");
+		when(repository.claim(eq(1L), any(), any())).thenReturn(1);
+
+		assertTrue(service.processIfClaimed(1L));
+
+		assertEquals(PersonImportJob.COMPLETED, job.getStatus());
+		assertEquals(List.of("Ana"), persisted.stream().map(Person::getFirstName).toList());
+	}
+}
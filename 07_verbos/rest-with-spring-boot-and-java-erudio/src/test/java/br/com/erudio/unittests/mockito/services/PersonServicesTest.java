@@ -1,8 +1,12 @@
 package br.com.erudio.unittests.mockito.services;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,17 +15,36 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.erudio.data.vo.v1.PersonVO;
+import br.com.erudio.exceptions.InvalidPatchException;
 import br.com.erudio.exceptions.RequiredObjectsIsNullException;
+import br.com.erudio.exceptions.ResourceConflictException;
+import br.com.erudio.mapper.PersonVOMapper;
 import br.com.erudio.model.Person;
 import br.com.erudio.repositories.PersonRepository;
+import br.com.erudio.repositories.PersonSummary;
 import br.com.erudio.services.PersonServices;
 import br.com.erudio.unittests.mapper.mocks.MockPerson;
+import br.com.erudio.util.KeysetCursor;
+import br.com.erudio.util.MergePatch;
+import br.com.erudio.util.TotalMode;
 
 @TestInstance(Lifecycle.PER_CLASS)
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +62,10 @@ class PersonServicesTest {
 	void setUpMocks() throws Exception {
 		input = new MockPerson();
 		MockitoAnnotations.openMocks(this);
+		ReflectionTestUtils.setField(service, "objectMapper", Jackson2ObjectMapperBuilder.json().build());
+		ReflectionTestUtils.setField(service, "voMapper", Mappers.getMapper(PersonVOMapper.class));
+		ReflectionTestUtils.setField(service, "assembler",
+				new PagedResourcesAssembler<PersonVO>(new HateoasPageableHandlerMethodArgumentResolver(), null));
 	}
 
 	@Test
@@ -128,6 +155,23 @@ class PersonServicesTest {
 	
 
 	
+	@Test
+	void testUpdateWithStaleVersion() {
+		Person entity = input.mockEntity(1);
+		entity.setVersion(3L);
+		
+		PersonVO vo = input.mockVO(1);
+		vo.setKey(1L);
+		vo.setFirstName("Leandro");
+		vo.setVersion(2L);
+		
+		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		
+		assertThrows(ResourceConflictException.class, () -> service.update(vo));
+		assertEquals("First Name Test1", entity.getFirstName());
+		verify(repository, never()).save(any());
+	}
+	
 	@Test
 	void testUpdateWithNullPerson() {
 		Exception exception = assertThrows(RequiredObjectsIsNullException.class, () -> {
@@ -150,4 +194,100 @@ class PersonServicesTest {
 		service.delete(1L);
 	}
 
+	@Test
+	void testPatch() throws Exception {
+		Person entity = input.mockEntity(1);
+		entity.setEnabled(true);
+		entity.setVersion(3L);
+		
+		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		when(repository.saveAndFlush(entity)).thenAnswer(invocation -> {
+			entity.setVersion(entity.getVersion() + 1);
+			return entity;
+		});
+		
+		var patch = new ObjectMapper().readTree("{\"first_name\":\"Leandro\",\"enabled\":false}");
+		var result = service.patch(1L, MergePatch.of(patch, "\"3\""));
+		
+		assertEquals("Leandro", result.getFirstName());
+		assertEquals("Last Name Test1", result.getLastName());
+		assertFalse(result.getEnabled());
+		assertEquals(4L, result.getVersion());
+		assertTrue(result.toString().contains("links: [</person/1>;rel=\"self\"]"));
+	}
+	
+	@Test
+	void testPatchWithStaleVersion() throws Exception {
+		Person entity = input.mockEntity(1);
+		entity.setEnabled(true);
+		entity.setVersion(3L);
+		
+		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		
+		var patch = new ObjectMapper().readTree("{\"first_name\":\"Leandro\",\"version\":2}");
+		
+		assertThrows(ResourceConflictException.class, () -> service.patch(1L, MergePatch.of(patch, null)));
+		assertEquals("First Name Test1", entity.getFirstName());
+		verify(repository, never()).saveAndFlush(any());
+	}
+
+	@Test
+	void testPatchWithUnknownField() throws Exception {
+		Person entity = input.mockEntity(1);
+		entity.setEnabled(true);
+		entity.setVersion(3L);
+		
+		when(repository.findById(1L)).thenReturn(Optional.of(entity));
+		
+		var patch = new ObjectMapper().readTree("{\"firstName\":\"Leandro\"}");
+		
+		assertThrows(InvalidPatchException.class, () -> service.patch(1L, MergePatch.of(patch, "3")));
+		assertEquals("First Name Test1", entity.getFirstName());
+		verify(repository, never()).saveAndFlush(any());
+	}
+
+	@Test
+	void testFindAllMapsSummariesToVOs() {
+		Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "firstName"));
+		var summaries = List.of(
+				new PersonSummary(1L, "Ayrton", "Senna", "Sao Paulo", "Male", true, 0L),
+				new PersonSummary(2L, "Leandro", "Costa", "Uberlandia", "Male", false, 3L));
+		
+		when(repository.findAllSummaries(pageable)).thenReturn(new PageImpl<>(summaries, pageable, 10));
+		
+		var page = service.findAll(pageable, TotalMode.EXACT);
+		
+		assertEquals(10, page.getMetadata().getTotalElements());
+		var people = new ArrayList<>(page.getContent());
+		assertEquals(2, people.size());
+		
+		var second = people.get(1).getContent();
+		assertEquals(2L, second.getKey());
+		assertEquals("Leandro", second.getFirstName());
+		assertEquals("Costa", second.getLastName());
+		assertEquals("Uberlandia", second.getAddress());
+		assertEquals("Male", second.getGender());
+		assertFalse(second.getEnabled());
+		assertEquals(3L, second.getVersion());
+		assertTrue(second.toString().contains("links: [</person/2>;rel=\"self\"]"));
+	}
+
+	@Test
+	void testFindAllByCursorMapsSummariesToVOs() {
+		var summaries = List.of(
+				new PersonSummary(4L, "Bia", "Lima", "Recife", "Female", true, 0L),
+				new PersonSummary(7L, "Caio", "Reis", "Natal", "Male", true, 0L),
+				new PersonSummary(9L, "Davi", "Melo", "Belem", "Male", true, 0L));
+		
+		when(repository.findPageAfter("Ana", 3L, PageRequest.of(0, 3))).thenReturn(summaries);
+		
+		var page = service.findAll(new KeysetCursor("Ana", 3L).encode(), 2, Sort.Direction.ASC);
+		
+		var people = new ArrayList<>(page.getContent());
+		assertEquals(2, people.size());
+		assertEquals(4L, people.get(0).getContent().getKey());
+		assertEquals("Caio", people.get(1).getContent().getFirstName());
+		var next = page.getLink(IanaLinkRelations.NEXT).orElseThrow();
+		assertTrue(next.getHref().contains("cursor=" + new KeysetCursor("Caio", 7L).encode()));
+	}
 }
@@ -0,0 +1,48 @@
+package br.com.erudio.unittests.mockito.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.erudio.model.User;
+import br.com.erudio.repositories.UserRepository;
+import br.com.erudio.services.UserServices;
+
+@ExtendWith(MockitoExtension.class)
+class UserServicesTest {
+
+	@InjectMocks
+	UserServices service;
+
+	@Mock
+	UserRepository repository;
+
+	private static User user(String password) {
+		var user = new User();
+		user.setUserName("leandro");
+		user.setPassword(password);
+		return user;
+	}
+
+	@Test
+	void testUpdatePasswordChangesManagedEntity() {
+		var managed = user("1000$old");
+		var detached = user("1000$old");
+		when(repository.findByUsername("leandro")).thenReturn(managed);
+
+		var result = service.updatePassword(detached, "2000$new");
+
+		assertSame(managed, result);
+		assertEquals("2000$new", managed.getPassword());
+		assertEquals("2000$new", detached.getPassword());
+		verify(repository).findByUsername("leandro");
+		verifyNoMoreInteractions(repository);
+	}
+}
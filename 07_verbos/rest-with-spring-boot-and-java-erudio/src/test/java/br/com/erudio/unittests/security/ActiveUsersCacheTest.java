@@ -0,0 +1,70 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.erudio.repositories.UserRepository;
+import br.com.erudio.security.jwt.ActiveUsersCache;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveUsersCacheTest {
+
+	@InjectMocks
+	ActiveUsersCache cache;
+
+	@Mock
+	UserRepository repository;
+
+	@Test
+	void testUsesLoadedUsernames() {
+		when(repository.findActiveUsernames()).thenReturn(List.of("leandro"));
+
+		cache.refresh();
+
+		assertTrue(cache.isActive("leandro"));
+		assertFalse(cache.isActive("flavio"));
+		verify(repository, never()).isActive("flavio");
+	}
+
+	@Test
+	void testFallsBackToDatabaseUntilFirstLoad() {
+		when(repository.findActiveUsernames()).thenThrow(new IllegalStateException("Banco indisponivel"));
+		when(repository.isActive("leandro")).thenReturn(true);
+		when(repository.isActive("flavio")).thenReturn(false);
+
+		cache.refresh();
+
+		assertTrue(cache.isActive("leandro"));
+		assertFalse(cache.isActive("flavio"));
+	}
+
+	@Test
+	void testFailedRefreshKeepsPreviousLoad() {
+		when(repository.findActiveUsernames())
+			.thenReturn(List.of("leandro"))
+			.thenThrow(new IllegalStateException("Banco indisponivel"));
+
+		cache.refresh();
+		cache.refresh();
+
+		assertTrue(cache.isActive("leandro"));
+		verify(repository, never()).isActive("leandro");
+	}
+
+	@Test
+	void testDeniesWhenDatabaseLookupFails() {
+		when(repository.isActive("leandro")).thenThrow(new IllegalStateException("Banco indisponivel"));
+
+		assertFalse(cache.isActive("leandro"));
+	}
+}
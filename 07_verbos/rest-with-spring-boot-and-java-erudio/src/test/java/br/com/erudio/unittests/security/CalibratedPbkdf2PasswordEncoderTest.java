@@ -0,0 +1,50 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.security.password.CalibratedPbkdf2PasswordEncoder;
+
+class CalibratedPbkdf2PasswordEncoderTest {
+
+	@Test
+	void testMatchesHashFromAnotherIterationCount() {
+		var oldEncoder = new CalibratedPbkdf2PasswordEncoder(1000);
+		var newEncoder = new CalibratedPbkdf2PasswordEncoder(2000);
+
+		String encoded = oldEncoder.encode("admin123");
+
+		assertTrue(encoded.startsWith("1000$"));
+		assertTrue(newEncoder.matches("admin123", encoded));
+		assertFalse(newEncoder.matches("admin234", encoded));
+		assertTrue(newEncoder.upgradeEncoding(encoded));
+		assertFalse(oldEncoder.upgradeEncoding(encoded));
+	}
+
+	@Test
+	void testUpgradesOnlyBelowSharedFloor() {
+		var encoder = new CalibratedPbkdf2PasswordEncoder(3000, 2000);
+
+		assertTrue(encoder.upgradeEncoding(new CalibratedPbkdf2PasswordEncoder(1000).encode("admin123")));
+		assertFalse(encoder.upgradeEncoding(new CalibratedPbkdf2PasswordEncoder(2000).encode("admin123")));
+		assertFalse(encoder.upgradeEncoding(new CalibratedPbkdf2PasswordEncoder(4000).encode("admin123")));
+		assertEquals(1000, new CalibratedPbkdf2PasswordEncoder(1000, 2000).getMinIterations());
+	}
+
+	@Test
+	void testRejectsMalformedHash() {
+		var encoder = new CalibratedPbkdf2PasswordEncoder(1000);
+
+		assertFalse(encoder.matches("admin123", "not-a-hash"));
+		assertTrue(encoder.upgradeEncoding("not-a-hash"));
+	}
+
+	@Test
+	void testCalibrationRespectsBounds() {
+		int iterations = CalibratedPbkdf2PasswordEncoder.calibrate(1, 5000, 6000);
+
+		assertTrue(iterations >= 5000);
+		assertTrue(iterations <= 6000);
+	}
+}
@@ -0,0 +1,118 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+
+import br.com.erudio.config.JwtKeysConfig;
+import br.com.erudio.security.jwt.JwtAlgorithms;
+import br.com.erudio.security.jwt.TokenMinter;
+
+class JwtAlgorithmsTest {
+
+	@TempDir
+	Path keysDir;
+
+	private String writePem(String name, String type, Key key) throws Exception {
+		Path path = keysDir.resolve(name);
+		String body = Base64.getMimeEncoder().encodeToString(key.getEncoded());
+		Files.writeString(path, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+		return path.toString();
+	}
+
+	private KeyPair ecKeyPair() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(256);
+		return generator.generateKeyPair();
+	}
+
+	private String mint(TokenMinter minter) {
+		Date now = new Date();
+		return minter.mint("leandro", List.of("ADMIN"), "http://localhost", now,
+				new Date(now.getTime() + 60000), new Date(now.getTime() + 180000), "family", "token")
+				.getAccessToken();
+	}
+
+	@Test
+	void testVerifyOnlyNodeAcceptsTokensFromEveryActiveKey() throws Exception {
+		KeyPair oldKey = ecKeyPair();
+		KeyPair newKey = ecKeyPair();
+
+		var oldSigner = new JwtKeysConfig();
+		oldSigner.setAlgorithm("ES256");
+		oldSigner.setActiveKeyId("2023");
+		oldSigner.setPrivateKey(writePem("old.pem", "PRIVATE KEY", oldKey.getPrivate()));
+		oldSigner.setPublicKeys(Map.of("2023", writePem("old.pub", "PUBLIC KEY", oldKey.getPublic())));
+		String oldToken = mint(new TokenMinter(JwtAlgorithms.create(oldSigner, null)));
+
+		var newSigner = new JwtKeysConfig();
+		newSigner.setAlgorithm("ES256");
+		newSigner.setActiveKeyId("2024");
+		newSigner.setPrivateKey(writePem("new.pem", "PRIVATE KEY", newKey.getPrivate()));
+		newSigner.setPublicKeys(Map.of("2024", writePem("new.pub", "PUBLIC KEY", newKey.getPublic())));
+		String newToken = mint(new TokenMinter(JwtAlgorithms.create(newSigner, null)));
+
+		var verifyOnly = new JwtKeysConfig();
+		verifyOnly.setAlgorithm("ES256");
+		verifyOnly.setPublicKeys(Map.of(
+				"2023", keysDir.resolve("old.pub").toString(),
+				"2024", keysDir.resolve("new.pub").toString()));
+		var verifier = JWT.require(JwtAlgorithms.create(verifyOnly, null)).build();
+
+		assertFalse(JwtAlgorithms.canSign(verifyOnly));
+		assertEquals("2023", verifier.verify(oldToken).getKeyId());
+		assertEquals("2024", verifier.verify(newToken).getKeyId());
+	}
+
+	@Test
+	void testRejectsTokenFromUnknownKey() throws Exception {
+		KeyPair key = ecKeyPair();
+
+		var signer = new JwtKeysConfig();
+		signer.setAlgorithm("ES256");
+		signer.setActiveKeyId("retired");
+		signer.setPrivateKey(writePem("key.pem", "PRIVATE KEY", key.getPrivate()));
+		signer.setPublicKeys(Map.of("retired", writePem("retired.pub", "PUBLIC KEY", key.getPublic())));
+		String token = mint(new TokenMinter(JwtAlgorithms.create(signer, null)));
+
+		var verifyOnly = new JwtKeysConfig();
+		verifyOnly.setAlgorithm("ES256");
+		verifyOnly.setPublicKeys(Map.of("2024", writePem("key.pub", "PUBLIC KEY", ecKeyPair().getPublic())));
+		var verifier = JWT.require(JwtAlgorithms.create(verifyOnly, null)).build();
+
+		assertThrows(SignatureVerificationException.class, () -> verifier.verify(token));
+	}
+
+	@Test
+	void testSigningNodeMustListItsOwnPublicKey() throws Exception {
+		KeyPair key = ecKeyPair();
+
+		var signer = new JwtKeysConfig();
+		signer.setAlgorithm("ES256");
+		signer.setActiveKeyId("2024");
+		signer.setPrivateKey(writePem("key.pem", "PRIVATE KEY", key.getPrivate()));
+
+		assertThrows(IllegalStateException.class, () -> JwtAlgorithms.create(signer, null));
+
+		signer.setPublicKeys(Map.of("2024", writePem("other.pub", "PUBLIC KEY", ecKeyPair().getPublic())));
+		assertThrows(IllegalStateException.class, () -> JwtAlgorithms.create(signer, null));
+
+		signer.setPublicKeys(Map.of("2024", writePem("key.pub", "PUBLIC KEY", key.getPublic())));
+		var verifier = JWT.require(JwtAlgorithms.create(signer, null)).build();
+		assertEquals("2024", verifier.verify(mint(new TokenMinter(JwtAlgorithms.create(signer, null)))).getKeyId());
+	}
+}
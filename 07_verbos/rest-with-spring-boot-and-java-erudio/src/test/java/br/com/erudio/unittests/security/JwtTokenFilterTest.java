@@ -0,0 +1,77 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.erudio.security.jwt.JwtTokenFilter;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenFilterTest {
+
+	@Mock
+	JwtTokenProvider tokenProvider;
+
+	SimpleMeterRegistry registry;
+
+	JwtTokenFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		filter = new JwtTokenFilter(tokenProvider, new String[] {"/auth/signin", "/swagger-ui/**"}, registry);
+	}
+
+	@Test
+	void testPublicRouteSkipsTokenProcessing() throws Exception {
+		var request = new MockHttpServletRequest("GET", "/swagger-ui/index.html");
+		request.setServletPath("/swagger-ui/index.html");
+		request.addHeader("Authorization", "Bearer a.b.c");
+		var chain = new MockFilterChain();
+
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertNotNull(chain.getRequest());
+		verifyNoInteractions(tokenProvider);
+		assertEquals(1, registry.get("security.jwt.filter").tag("stage", "bypass").timer().count());
+	}
+
+	@Test
+	void testProtectedRouteWithoutTokenSkipsVerification() throws Exception {
+		var request = new MockHttpServletRequest("GET", "/api/person/v1");
+		when(tokenProvider.resolveToken(any())).thenReturn(null);
+		var chain = new MockFilterChain();
+
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+		assertNotNull(chain.getRequest());
+		verify(tokenProvider, never()).validateToken(anyString());
+		assertEquals(1, registry.get("security.jwt.filter").tag("stage", "resolve").timer().count());
+	}
+
+	@Test
+	void testMalformedTokensAreRejectedStructurally() {
+		assertTrue(JwtTokenProvider.isWellFormed("eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiJsZWFuZHJvIn0.c2ln-_"));
+		assertFalse(JwtTokenProvider.isWellFormed(""));
+		assertFalse(JwtTokenProvider.isWellFormed("abc"));
+		assertFalse(JwtTokenProvider.isWellFormed("a.b"));
+		assertFalse(JwtTokenProvider.isWellFormed("a..c"));
+		assertFalse(JwtTokenProvider.isWellFormed("a.b."));
+		assertFalse(JwtTokenProvider.isWellFormed("a.b.c.d"));
+		assertFalse(JwtTokenProvider.isWellFormed("a.b c.d"));
+		assertFalse(JwtTokenProvider.isWellFormed("a.b+/.c"));
+		assertFalse(JwtTokenProvider.isWellFormed("a.b." + "c".repeat(9000)));
+	}
+}
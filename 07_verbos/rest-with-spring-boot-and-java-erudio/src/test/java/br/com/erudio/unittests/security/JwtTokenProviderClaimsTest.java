@@ -0,0 +1,74 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import br.com.erudio.security.jwt.ActiveUsersCache;
+import br.com.erudio.security.jwt.JwtTokenProvider;
+import br.com.erudio.security.jwt.VerifiedToken;
+import br.com.erudio.security.jwt.VerifiedTokenCache;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenProviderClaimsTest {
+
+	@InjectMocks
+	JwtTokenProvider tokenProvider;
+
+	@Mock
+	VerifiedTokenCache tokenCache;
+
+	@Mock
+	ActiveUsersCache activeUsers;
+
+	@Mock
+	UserDetailsService userDetailsService;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(tokenProvider, "authenticationMode", "claims");
+		ReflectionTestUtils.setField(tokenProvider, "activeUsers", activeUsers);
+	}
+
+	private void verifiedAs(String username, String... roles) {
+		when(tokenCache.get(eq("token"), any()))
+			.thenReturn(new VerifiedToken(username, List.of(roles), System.currentTimeMillis() + 60000));
+	}
+
+	@Test
+	void testBuildsAuthenticationFromClaims() {
+		verifiedAs("leandro", "ADMIN", "MANAGER");
+		when(activeUsers.isActive("leandro")).thenReturn(true);
+
+		var authentication = tokenProvider.getAuthentication("token");
+
+		assertNotNull(authentication);
+		assertEquals("leandro", authentication.getName());
+		assertEquals(List.of("ADMIN", "MANAGER"), authentication.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority).toList());
+		verifyNoInteractions(userDetailsService);
+	}
+
+	@Test
+	void testDeniesDisabledUser() {
+		verifiedAs("flavio", "COMMON_USER");
+		when(activeUsers.isActive("flavio")).thenReturn(false);
+
+		assertNull(tokenProvider.getAuthentication("token"));
+		verifyNoInteractions(userDetailsService);
+	}
+}
@@ -0,0 +1,159 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.erudio.exceptions.InvalidJwtAuthenticationException;
+import br.com.erudio.model.RefreshToken;
+import br.com.erudio.repositories.RefreshTokenRepository;
+import br.com.erudio.security.jwt.RefreshTokenStore;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenStoreTest {
+
+	@InjectMocks
+	RefreshTokenStore store;
+
+	@Mock
+	RefreshTokenRepository repository;
+
+	private static final Date EXPIRES_AT = new Date(System.currentTimeMillis() + 60000);
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private static RefreshToken token(boolean consumed, boolean revoked) {
+		var token = new RefreshToken("token-1", "family-1", "leandro", new Date(System.currentTimeMillis() + 60000));
+		token.setConsumed(consumed);
+		token.setRevoked(revoked);
+		return token;
+	}
+
+	@Test
+	void testConsumesUnusedToken() {
+		when(repository.consume(anyString(), anyString(), any())).thenReturn(1);
+
+		store.consume("token-1", "family-1", EXPIRES_AT);
+
+		verify(repository, never()).revokeFamily(anyString());
+	}
+
+	@Test
+	void testReuseRevokesFamily() {
+		when(repository.consume(anyString(), anyString(), any())).thenReturn(0);
+		when(repository.findByTokenId("token-1")).thenReturn(token(true, false));
+
+		var e = assertThrows(InvalidJwtAuthenticationException.class, () -> store.consume("token-1", "family-1", EXPIRES_AT));
+
+		assertEquals("Refresh token reutilizado, sessão revogada", e.getMessage());
+		verify(repository).revokeFamily("family-1");
+	}
+
+	@Test
+	void testRevokedFamilyIsRejectedWithoutRevokingAgain() {
+		when(repository.consume(anyString(), anyString(), any())).thenReturn(0);
+		when(repository.findByTokenId("token-1")).thenReturn(token(true, true));
+
+		assertThrows(InvalidJwtAuthenticationException.class, () -> store.consume("token-1", "family-1", EXPIRES_AT));
+
+		verify(repository, never()).revokeFamily(anyString());
+	}
+
+	@Test
+	void testUnknownTokenIsRejected() {
+		when(repository.consume(anyString(), anyString(), any())).thenReturn(0);
+
+		assertThrows(InvalidJwtAuthenticationException.class, () -> store.consume("token-1", "family-1", EXPIRES_AT));
+		assertThrows(InvalidJwtAuthenticationException.class, () -> store.consume(null, "family-1", EXPIRES_AT));
+
+		verify(repository, never()).revokeFamily(anyString());
+	}
+
+	@Test
+	void testKnownBadTokensAreRejectedFromMemory() {
+		when(repository.consume(anyString(), anyString(), any())).thenReturn(1);
+		store.consume("token-1", "family-1", EXPIRES_AT);
+
+		var e = assertThrows(InvalidJwtAuthenticationException.class,
+				() -> store.consume("token-1", "family-1", EXPIRES_AT));
+		assertEquals("Refresh token reutilizado, sessão revogada", e.getMessage());
+		verify(repository).revokeFamily("family-1");
+
+		assertThrows(InvalidJwtAuthenticationException.class, () -> store.consume("token-2", "family-1", EXPIRES_AT));
+		assertThrows(InvalidJwtAuthenticationException.class, () -> store.consume("token-1", "family-1", EXPIRES_AT));
+
+		verify(repository, times(1)).consume(anyString(), anyString(), any());
+		verify(repository, never()).findByTokenId(anyString());
+		verifyNoMoreInteractions(repository);
+	}
+
+	@Test
+	void testRevokedFamilyFromDatabaseIsRemembered() {
+		when(repository.consume(anyString(), anyString(), any())).thenReturn(0);
+		when(repository.findByTokenId("token-1")).thenReturn(token(true, true));
+
+		assertThrows(InvalidJwtAuthenticationException.class, () -> store.consume("token-1", "family-1", EXPIRES_AT));
+		assertThrows(InvalidJwtAuthenticationException.class, () -> store.consume("token-2", "family-1", EXPIRES_AT));
+
+		verify(repository, times(1)).consume(anyString(), anyString(), any());
+	}
+
+	@Test
+	void testNothingIsRememberedBeforeCommit() {
+		when(repository.consume(anyString(), anyString(), any())).thenReturn(1);
+
+		TransactionSynchronizationManager.initSynchronization();
+		store.consume("token-1", "family-1", EXPIRES_AT);
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		TransactionSynchronizationManager.clearSynchronization();
+
+		store.consume("token-1", "family-1", EXPIRES_AT);
+
+		verify(repository, times(2)).consume(anyString(), anyString(), any());
+		verify(repository, never()).revokeFamily(anyString());
+	}
+
+	@Test
+	void testExpiredEntriesArePurged() {
+		when(repository.consume(anyString(), anyString(), any())).thenReturn(1);
+		store.consume("token-1", "family-1", new Date(System.currentTimeMillis() - 1000));
+
+		store.purgeExpired();
+		store.consume("token-1", "family-1", EXPIRES_AT);
+
+		verify(repository, times(2)).consume(anyString(), anyString(), any());
+		verify(repository, never()).revokeFamily(anyString());
+	}
+
+	@Test
+	void testTokenIdentityIgnoresMutableFlags() {
+		var first = token(false, false);
+		var second = token(true, true);
+		second.setId(42);
+
+		assertEquals(first, second);
+		assertEquals(first.hashCode(), second.hashCode());
+	}
+}
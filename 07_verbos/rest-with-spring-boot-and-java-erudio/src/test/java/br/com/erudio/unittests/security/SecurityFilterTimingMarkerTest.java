@@ -0,0 +1,86 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import br.com.erudio.security.metrics.SecurityFilterTimingMarker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServlet;
+
+class SecurityFilterTimingMarkerTest {
+
+	static class PassThroughFilter implements Filter {
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+				throws IOException, ServletException {
+			chain.doFilter(request, response);
+		}
+	}
+
+	static class SlowFilter implements Filter {
+		@Override
+		public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+				throws IOException, ServletException {
+			sleep(100);
+			chain.doFilter(request, response);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	void testRecordsOnlyTimeSpentInEachFilter() throws Exception {
+		var registry = new SimpleMeterRegistry();
+		Filter passThrough = new PassThroughFilter();
+		Filter slow = new SlowFilter();
+		var filters = SecurityFilterTimingMarker.interleave(List.of(passThrough, slow), registry);
+
+		var slowServlet = new HttpServlet() {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void service(ServletRequest request, ServletResponse response) {
+				sleep(100);
+			}
+		};
+		new MockFilterChain(slowServlet, filters.toArray(Filter[]::new))
+			.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse());
+
+		var passThroughTimer = registry.get("security.filter").tag("filter", "PassThroughFilter").timer();
+		var slowTimer = registry.get("security.filter").tag("filter", "SlowFilter").timer();
+		assertEquals(1, passThroughTimer.count());
+		assertTrue(passThroughTimer.totalTime(TimeUnit.MILLISECONDS) < 50);
+		assertEquals(1, slowTimer.count());
+		assertTrue(slowTimer.totalTime(TimeUnit.MILLISECONDS) >= 100);
+		assertTrue(slowTimer.totalTime(TimeUnit.MILLISECONDS) < 150);
+	}
+
+	@Test
+	void testKeepsOriginalFiltersInTheChain() {
+		Filter passThrough = new PassThroughFilter();
+		var filters = SecurityFilterTimingMarker.interleave(List.of(passThrough), new SimpleMeterRegistry());
+
+		assertEquals(3, filters.size());
+		assertSame(passThrough, filters.get(1));
+		assertEquals(1, filters.stream().filter(PassThroughFilter.class::isInstance).count());
+	}
+}
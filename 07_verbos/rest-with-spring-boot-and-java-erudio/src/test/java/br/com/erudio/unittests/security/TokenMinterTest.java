@@ -0,0 +1,48 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+
+import br.com.erudio.security.jwt.TokenMinter;
+
+class TokenMinterTest {
+
+	TokenMinter minter;
+
+	JWTVerifier verifier;
+
+	@BeforeEach
+	void setUp() {
+		Algorithm algorithm = Algorithm.HMAC256("NTNjcjM3".getBytes());
+		minter = new TokenMinter(algorithm);
+		verifier = JWT.require(algorithm).build();
+	}
+
+	@Test
+	void testMintedTokensAreVerifiable() {
+		Date now = new Date();
+		var tokens = minter.mint("leandro \"costa\"", List.of("ADMIN", "MANAGER"), "http://localhost:80",
+				now, new Date(now.getTime() + 60000), new Date(now.getTime() + 180000), "family-1", "token-1");
+
+		var access = verifier.verify(tokens.getAccessToken());
+		assertEquals("leandro \"costa\"", access.getSubject());
+		assertEquals(List.of("ADMIN", "MANAGER"), access.getClaim("roles").asList(String.class));
+		assertEquals("http://localhost:80", access.getIssuer());
+		assertEquals(now.getTime() / 1000, access.getIssuedAt().getTime() / 1000);
+		assertNull(access.getId());
+
+		var refresh = verifier.verify(tokens.getRefreshToken());
+		assertEquals("token-1", refresh.getId());
+		assertEquals("family-1", refresh.getClaim("family").asString());
+		assertTrue(refresh.getExpiresAt().after(access.getExpiresAt()));
+	}
+}
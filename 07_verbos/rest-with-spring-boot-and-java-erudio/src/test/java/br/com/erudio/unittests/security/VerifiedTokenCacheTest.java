@@ -0,0 +1,68 @@
+package br.com.erudio.unittests.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.security.jwt.VerifiedToken;
+import br.com.erudio.security.jwt.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class VerifiedTokenCacheTest {
+
+	VerifiedTokenCache cache;
+
+	AtomicInteger verifications;
+
+	@BeforeEach
+	void setUp() {
+		cache = new VerifiedTokenCache(2, new SimpleMeterRegistry());
+		verifications = new AtomicInteger();
+	}
+
+	private VerifiedToken verify(String token, long expiresAt) {
+		verifications.incrementAndGet();
+		return new VerifiedToken("leandro", List.of("ADMIN"), expiresAt);
+	}
+
+	@Test
+	void testVerifiesOnlyOnce() {
+		long expiresAt = System.currentTimeMillis() + 60000;
+
+		var first = cache.get("token", t -> verify(t, expiresAt));
+		var second = cache.get("token", t -> verify(t, expiresAt));
+
+		assertSame(first, second);
+		assertEquals(1, verifications.get());
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals("leandro", second.getSubject());
+		assertEquals(List.of("ADMIN"), second.getRoles());
+	}
+
+	@Test
+	void testExpiredTokenIsNotCached() {
+		long expiresAt = System.currentTimeMillis() - 1;
+
+		cache.get("token", t -> verify(t, expiresAt));
+		cache.get("token", t -> verify(t, expiresAt));
+
+		assertEquals(2, verifications.get());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void testCacheIsBounded() {
+		long expiresAt = System.currentTimeMillis() + 60000;
+
+		cache.get("token1", t -> verify(t, expiresAt));
+		cache.get("token2", t -> verify(t, expiresAt));
+		cache.get("token3", t -> verify(t, expiresAt));
+
+		assertEquals(2, cache.size());
+	}
+}
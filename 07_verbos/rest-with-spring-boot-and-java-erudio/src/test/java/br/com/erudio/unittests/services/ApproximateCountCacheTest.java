@@ -0,0 +1,115 @@
+package br.com.erudio.unittests.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.services.ApproximateCountCache;
+
+class ApproximateCountCacheTest {
+
+	ApproximateCountCache cache;
+
+	@AfterEach
+	void tearDown() {
+		cache.shutdown();
+	}
+
+	private Long awaitCount(String key, AtomicInteger counts) throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			Long value = cache.get(key, () -> { counts.incrementAndGet(); return 1000L; });
+			if (value != null) return value;
+			Thread.sleep(10);
+		}
+		return null;
+	}
+
+	@Test
+	void testFirstReadDoesNotWaitForTheCount() throws Exception {
+		cache = new ApproximateCountCache(60000, 10, 4);
+		var counts = new AtomicInteger();
+
+		assertNull(cache.get("person", () -> { counts.incrementAndGet(); return 1000L; }));
+		assertEquals(1000L, awaitCount("person", counts));
+		assertEquals(1, counts.get());
+	}
+
+	@Test
+	void testStaleCountIsServedWhileRefreshing() throws Exception {
+		cache = new ApproximateCountCache(0, 10, 4);
+		var counts = new AtomicInteger();
+
+		assertEquals(1000L, awaitCount("person", counts));
+		Thread.sleep(5);
+		assertEquals(1000L, cache.get("person", () -> 2000L));
+	}
+
+	@Test
+	void testConcurrentReadsOfOneKeyQueueASingleCount() throws Exception {
+		cache = new ApproximateCountCache(60000, 10, 4);
+		var release = new CountDownLatch(1);
+		var counts = new AtomicInteger();
+
+		for (int i = 0; i < 20; i++) {
+			cache.get("person", () -> {
+				counts.incrementAndGet();
+				await(release);
+				return 1000L;
+			});
+		}
+		release.countDown();
+
+		assertEquals(1000L, awaitCount("person", new AtomicInteger()));
+		assertEquals(1, counts.get());
+	}
+
+	@Test
+	void testQueueIsBounded() throws Exception {
+		cache = new ApproximateCountCache(60000, 100, 2);
+		var release = new CountDownLatch(1);
+		var started = new CountDownLatch(1);
+		var counts = new AtomicInteger();
+
+		cache.get("blocker", () -> {
+			started.countDown();
+			await(release);
+			return 1L;
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 10; i++) {
+			cache.get("key" + i, () -> { counts.incrementAndGet(); return 1L; });
+		}
+		release.countDown();
+		awaitCount("blocker", new AtomicInteger());
+		Thread.sleep(50);
+
+		assertEquals(2, counts.get());
+	}
+
+	@Test
+	void testNumberOfKeysIsBounded() throws Exception {
+		cache = new ApproximateCountCache(60000, 2, 4);
+		var counts = new AtomicInteger();
+
+		assertEquals(1000L, awaitCount("a", counts));
+		assertEquals(1000L, awaitCount("b", counts));
+		assertNull(cache.get("c", () -> { counts.incrementAndGet(); return 1000L; }));
+		Thread.sleep(50);
+
+		assertNull(cache.get("c", () -> 1000L));
+		assertEquals(2, counts.get());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
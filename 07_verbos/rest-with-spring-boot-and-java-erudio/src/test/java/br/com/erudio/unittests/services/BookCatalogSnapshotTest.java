@@ -0,0 +1,152 @@
+package br.com.erudio.unittests.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.services.BookCatalogSnapshot;
+
+class BookCatalogSnapshotTest {
+
+	private static BookVO book(long id, String author, String title, double price, LocalDate launchDate, long version) {
+		return new BookVO(id, author, java.sql.Date.valueOf(launchDate), price, title, version);
+	}
+
+	private static List<Long> keys(List<BookVO> books) {
+		return books.stream().map(BookVO::getKey).toList();
+	}
+
+	private static List<BookVO> catalog() {
+		return List.of(
+			book(3, "Robert C. Martin", "Clean Code", 77.0, LocalDate.of(2009, 1, 10), 0),
+			book(1, "Michael C. Feathers", "Working effectively with legacy code", 49.0, LocalDate.of(2017, 11, 29), 0),
+			book(5, "Steve McConnell", "Code complete", 58.0, LocalDate.of(2017, 11, 7), 0),
+			book(2, "Ralph Johnson", "Design Patterns", 45.0, LocalDate.of(2017, 11, 29), 0),
+			book(4, "Crockford", "JavaScript", 67.0, LocalDate.of(2017, 11, 7), 0));
+	}
+
+	@Test
+	void testFindById() {
+		var snapshot = BookCatalogSnapshot.of(catalog());
+
+		assertEquals(5, snapshot.size());
+		assertEquals("Design Patterns", snapshot.find(2).getTitle());
+		assertEquals(45.0, snapshot.find(2).getPrice());
+		assertNull(snapshot.find(6));
+	}
+
+	@Test
+	void testFindAllSortedByEachIndex() {
+		var snapshot = BookCatalogSnapshot.of(catalog());
+
+		assertEquals(List.of(3L, 5L, 2L, 4L, 1L), keys(snapshot.findAll(
+				PageRequest.of(0, 10, Sort.by("title").and(Sort.by("id")))).getContent()));
+		assertEquals(List.of(2L, 1L, 5L, 4L, 3L), keys(snapshot.findAll(
+				PageRequest.of(0, 10, Sort.by("price").and(Sort.by("id")))).getContent()));
+		assertEquals(List.of(2L, 1L, 5L, 4L, 3L), keys(snapshot.findAll(
+				PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "launchDate").and(Sort.by(Sort.Direction.DESC, "id")))).getContent()));
+
+		var page = snapshot.findAll(PageRequest.of(1, 2, Sort.by("author").and(Sort.by("id"))));
+		assertEquals(List.of(2L, 3L), keys(page.getContent()));
+		assertEquals(5, page.getTotalElements());
+		assertEquals(3, page.getTotalPages());
+	}
+
+	@Test
+	void testSearch() {
+		var snapshot = BookCatalogSnapshot.of(catalog());
+		var byTitle = PageRequest.of(0, 10, Sort.by("title").and(Sort.by("id")));
+
+		assertEquals(List.of(3L, 5L), keys(snapshot.search(null, "c", null, null, null, null, byTitle).getContent()));
+		assertEquals(List.of(2L), keys(snapshot.search("ralph", null, null, null, null, null, byTitle).getContent()));
+		assertEquals(List.of(5L, 2L, 1L), keys(snapshot.search(null, null, 45.0, 60.0, null, null, byTitle).getContent()));
+		assertEquals(List.of(5L, 4L), keys(snapshot.search(null, null, null, null,
+				LocalDate.of(2017, 11, 7), LocalDate.of(2017, 11, 7), byTitle).getContent()));
+		assertEquals(List.of(2L), keys(snapshot.search(null, "d", null, 50.0,
+				LocalDate.of(2017, 1, 1), null, byTitle).getContent()));
+		assertEquals(0, snapshot.search("Nobody", null, null, null, null, null, byTitle).getTotalElements());
+	}
+
+	@Test
+	void testFindAfter() {
+		var snapshot = BookCatalogSnapshot.of(catalog());
+
+		assertEquals(List.of(1L, 2L), keys(snapshot.findAfter(0, 2, Sort.Direction.ASC)));
+		assertEquals(List.of(3L, 4L, 5L), keys(snapshot.findAfter(2, 10, Sort.Direction.ASC)));
+		assertEquals(List.of(2L, 1L), keys(snapshot.findAfter(3, 10, Sort.Direction.DESC)));
+		assertEquals(List.of(5L), keys(snapshot.findAfter(Long.MAX_VALUE, 1, Sort.Direction.DESC)));
+	}
+
+	@Test
+	void testIncrementalChangesKeepIndexesSorted() {
+		var original = BookCatalogSnapshot.of(catalog());
+
+		var changed = original
+				.with(book(6, "Martin Fowler", "Refactoring", 50.0, LocalDate.of(2018, 11, 19), 0))
+				.with(book(3, "Robert C. Martin", "Clean Code", 20.0, LocalDate.of(2009, 1, 10), 1))
+				.without(4);
+
+		assertEquals(5, original.size());
+		assertNotNull(original.find(4));
+		assertEquals(77.0, original.find(3).getPrice());
+
+		assertEquals(5, changed.size());
+		assertNull(changed.find(4));
+		assertEquals(List.of(3L, 2L, 1L, 6L, 5L), keys(changed.findAll(
+				PageRequest.of(0, 10, Sort.by("price").and(Sort.by("id")))).getContent()));
+		assertEquals(List.of(3L, 5L, 2L, 6L, 1L), keys(changed.findAll(
+				PageRequest.of(0, 10, Sort.by("title").and(Sort.by("id")))).getContent()));
+	}
+
+	@Test
+	void testStaleVersionIsIgnored() {
+		var snapshot = BookCatalogSnapshot.of(catalog())
+				.with(book(3, "Robert C. Martin", "Clean Code", 20.0, LocalDate.of(2009, 1, 10), 2));
+
+		var stale = snapshot.with(book(3, "Robert C. Martin", "Clean Code", 99.0, LocalDate.of(2009, 1, 10), 1));
+
+		assertSame(snapshot, stale);
+		assertEquals(20.0, stale.find(3).getPrice());
+	}
+
+	@Test
+	void testIncrementalSnapshotMatchesFullRebuild() {
+		var random = new Random(42);
+		List<BookVO> books = new ArrayList<>();
+		var snapshot = BookCatalogSnapshot.of(books);
+		for (int i = 0; i < 500; i++) {
+			long id = 1 + random.nextInt(200);
+			if (random.nextInt(4) == 0) {
+				snapshot = snapshot.without(id);
+				books.removeIf(book -> book.getKey() == id);
+				continue;
+			}
+			var book = book(id, "Author " + random.nextInt(20), "Title " + random.nextInt(50),
+					random.nextInt(100), LocalDate.of(2000, 1, 1).plusDays(random.nextInt(30)), i);
+			snapshot = snapshot.with(book);
+			books.removeIf(existing -> existing.getKey() == id);
+			books.add(book);
+		}
+
+		var rebuilt = BookCatalogSnapshot.of(books);
+		assertEquals(rebuilt.size(), snapshot.size());
+		for (String property : List.of("title", "author", "price", "launchDate", "id")) {
+			for (var direction : Sort.Direction.values()) {
+				var pageable = PageRequest.of(0, 1000, Sort.by(direction, property).and(Sort.by(direction, "id")));
+				assertEquals(keys(rebuilt.findAll(pageable).getContent()), keys(snapshot.findAll(pageable).getContent()),
+						property + " " + direction);
+				assertEquals(keys(rebuilt.search("Author 1", null, 10.0, 60.0, null, null, pageable).getContent()),
+						keys(snapshot.search("Author 1", null, 10.0, 60.0, null, null, pageable).getContent()),
+						property + " " + direction);
+			}
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package br.com.erudio.unittests.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.erudio.data.vo.v1.BookVO;
+import br.com.erudio.repositories.BookRepository;
+import br.com.erudio.services.BookCatalog;
+
+@ExtendWith(MockitoExtension.class)
+class BookCatalogTest {
+
+	@Mock
+	BookRepository repository;
+
+	BookCatalog catalog;
+
+	@BeforeEach
+	void setUp() {
+		catalog = new BookCatalog(repository, true);
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private static BookVO book(long id, String title, double price, long version) {
+		return new BookVO(id, "Author " + id, java.sql.Date.valueOf(LocalDate.of(2017, 11, 29)), price, title, version);
+	}
+
+	@Test
+	void testDisabledCatalogNeverLoads() {
+		var disabled = new BookCatalog(repository, false);
+
+		disabled.reconcile();
+		disabled.put(book(1, "Clean Code", 77.0, 0));
+
+		assertNull(disabled.snapshot());
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	void testChangesBeforeFirstLoadAreLeftToTheReload() {
+		catalog.put(book(1, "Clean Code", 77.0, 0));
+		assertNull(catalog.snapshot());
+
+		when(repository.findCatalog()).thenReturn(List.of(book(1, "Clean Code", 77.0, 0)));
+		catalog.reconcile();
+
+		assertEquals(1, catalog.snapshot().size());
+	}
+
+	@Test
+	void testChangesDuringReloadAreReplayedOnTheReloadedSnapshot() {
+		when(repository.findCatalog()).thenReturn(List.of(
+				book(1, "Clean Code", 77.0, 0),
+				book(2, "Design Patterns", 45.0, 0),
+				book(3, "JavaScript", 67.0, 0)));
+		catalog.reconcile();
+
+		// O banco e lido antes de as tres alteracoes abaixo serem confirmadas
+		when(repository.findCatalog()).thenAnswer(invocation -> {
+			catalog.put(book(4, "Refactoring", 50.0, 0));
+			catalog.put(book(1, "Clean Code", 20.0, 1));
+			catalog.remove(2);
+			return List.of(
+					book(1, "Clean Code", 77.0, 0),
+					book(2, "Design Patterns", 45.0, 0),
+					book(3, "JavaScript", 67.0, 0));
+		});
+		catalog.reconcile();
+
+		var snapshot = catalog.snapshot();
+		assertEquals(3, snapshot.size());
+		assertEquals(20.0, snapshot.find(1).getPrice());
+		assertNull(snapshot.find(2));
+		assertEquals("Refactoring", snapshot.find(4).getTitle());
+	}
+
+	@Test
+	void testReplayDoesNotOverwriteNewerReloadedRows() {
+		when(repository.findCatalog()).thenAnswer(invocation -> {
+			catalog.put(book(1, "Clean Code", 20.0, 1));
+			return List.of(book(1, "Clean Code", 35.0, 2));
+		});
+		catalog.reconcile();
+
+		assertEquals(35.0, catalog.snapshot().find(1).getPrice());
+	}
+
+	@Test
+	void testChangesBetweenReloadsApplyImmediately() {
+		when(repository.findCatalog()).thenReturn(List.of(book(1, "Clean Code", 77.0, 0)));
+		catalog.reconcile();
+		var loaded = catalog.snapshot();
+
+		catalog.put(book(2, "Design Patterns", 45.0, 0));
+		catalog.remove(1);
+
+		assertEquals(1, loaded.size());
+		assertNull(catalog.snapshot().find(1));
+		assertEquals(45.0, catalog.snapshot().find(2).getPrice());
+
+		// A proxima releitura ja enxerga as duas alteracoes e nao ha nada pendente
+		when(repository.findCatalog()).thenReturn(List.of(book(2, "Design Patterns", 45.0, 0)));
+		catalog.reconcile();
+		assertEquals(1, catalog.snapshot().size());
+		assertNull(catalog.snapshot().find(1));
+	}
+
+	@Test
+	void testFailedReloadKeepsCurrentSnapshot() {
+		when(repository.findCatalog()).thenReturn(List.of(book(1, "Clean Code", 77.0, 0)));
+		catalog.reconcile();
+		var loaded = catalog.snapshot();
+
+		when(repository.findCatalog()).thenThrow(new IllegalStateException("sem conexao"));
+		catalog.reconcile();
+		assertSame(loaded, catalog.snapshot());
+
+		catalog.put(book(1, "Clean Code", 20.0, 1));
+		assertEquals(20.0, catalog.snapshot().find(1).getPrice());
+	}
+
+	@Test
+	void testChangesWaitForCommit() {
+		when(repository.findCatalog()).thenReturn(List.of(book(1, "Clean Code", 77.0, 0)));
+		catalog.reconcile();
+
+		TransactionSynchronizationManager.initSynchronization();
+		catalog.put(book(1, "Clean Code", 20.0, 1));
+		catalog.put(book(2, "Design Patterns", 45.0, 0));
+
+		assertEquals(77.0, catalog.snapshot().find(1).getPrice());
+		assertNull(catalog.snapshot().find(2));
+
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		assertEquals(2, synchronizations.size());
+		synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+		assertEquals(20.0, catalog.snapshot().find(1).getPrice());
+		assertEquals(45.0, catalog.snapshot().find(2).getPrice());
+	}
+
+	@Test
+	void testRolledBackChangesAreNeverApplied() {
+		when(repository.findCatalog()).thenReturn(List.of(book(1, "Clean Code", 77.0, 0)));
+		catalog.reconcile();
+
+		TransactionSynchronizationManager.initSynchronization();
+		catalog.remove(1);
+		TransactionSynchronizationManager.getSynchronizations()
+				.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertEquals(77.0, catalog.snapshot().find(1).getPrice());
+	}
+}
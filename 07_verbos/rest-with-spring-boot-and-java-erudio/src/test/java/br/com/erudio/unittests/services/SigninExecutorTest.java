@@ -0,0 +1,97 @@
+package br.com.erudio.unittests.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import br.com.erudio.exceptions.TooManyRequestsException;
+import br.com.erudio.exceptions.handler.CustomizedResponseEntityExceptionHandler;
+import br.com.erudio.services.SigninExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SigninExecutorTest {
+
+	SimpleMeterRegistry registry;
+	SigninExecutor executor;
+
+	CountDownLatch started;
+	CountDownLatch release;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		executor = new SigninExecutor(1, 1, 7, registry);
+		started = new CountDownLatch(1);
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		executor.shutdown();
+	}
+
+	private String blockingSignin() {
+		started.countDown();
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "token";
+	}
+
+	@Test
+	void testRejectsWhenWorkersAndQueueAreFull() throws Exception {
+		var running = executor.submit(this::blockingSignin);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		var queued = executor.submit(() -> "queued");
+
+		var rejected = assertThrows(TooManyRequestsException.class, () -> executor.submit(() -> "rejected"));
+		assertEquals(7, rejected.getRetryAfterSeconds());
+		assertEquals(1.0, registry.get("auth.signin.queue.depth").gauge().value());
+
+		release.countDown();
+		assertEquals("token", running.get(5, TimeUnit.SECONDS));
+		assertEquals("queued", queued.get(5, TimeUnit.SECONDS));
+		assertEquals(0.0, registry.get("auth.signin.queue.depth").gauge().value());
+	}
+
+	@Test
+	void testRecordsQueueWaitAndHashTime() throws Exception {
+		assertEquals("token", executor.submit(() -> executor.timeHash(() -> "token")).get(5, TimeUnit.SECONDS));
+		assertEquals("other", executor.submit(() -> "other").get(5, TimeUnit.SECONDS));
+
+		assertEquals(2, registry.get("auth.signin.queue.wait").timer().count());
+		assertEquals(1, registry.get("auth.signin.hash").timer().count());
+	}
+
+	@Test
+	void testTaskRunsWithoutRequestContext() throws Exception {
+		var hasRequest = executor.submit(() ->
+				RequestContextHolder.getRequestAttributes() != null);
+		assertFalse(hasRequest.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testTooManyRequestsIsAnsweredWith429AndRetryAfter() {
+		var handler = new CustomizedResponseEntityExceptionHandler();
+		var response = handler.handleTooManyRequestsException(
+				new TooManyRequestsException("Muitas tentativas de login, tente novamente", 7),
+				new ServletWebRequest(new MockHttpServletRequest("POST", "/auth/signin")));
+
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+		assertEquals("7", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals("Muitas tentativas de login, tente novamente", response.getBody().getMessage());
+	}
+}
@@ -0,0 +1,38 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.util.CsvReader;
+
+class CsvReaderTest {
+
+	@Test
+	void testReadsRecordsOneAtATime() throws Exception {
+		var reader = new CsvReader(new StringReader("\uFEFFa,b,c\r\n1,,3\n"));
+
+		assertEquals(List.of("a", "b", "c"), reader.readRecord());
+		assertEquals(List.of("1", "", "3"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void testQuotedFields() throws Exception {
+		var reader = new CsvReader(new StringReader("\"Rua \"\"A\"\", 10\",\"linha\nquebrada\",x"));
+
+		assertEquals(List.of("Rua \"A\", 10", "linha\nquebrada", "x"), reader.readRecord());
+		assertNull(reader.readRecord());
+	}
+
+	@Test
+	void testUnterminatedQuoteFails() {
+		var reader = new CsvReader(new StringReader("\"aberto,1\n"));
+
+		assertThrows(IOException.class, reader::readRecord);
+	}
+}
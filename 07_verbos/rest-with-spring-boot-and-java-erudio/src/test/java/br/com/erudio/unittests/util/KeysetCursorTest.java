@@ -0,0 +1,32 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.exceptions.InvalidCursorException;
+import br.com.erudio.util.KeysetCursor;
+
+class KeysetCursorTest {
+
+	@Test
+	void testRoundTrip() {
+		var cursor = KeysetCursor.decode(new KeysetCursor("Zé da Silva", 42L).encode());
+
+		assertEquals("Zé da Silva", cursor.getKey());
+		assertEquals(42L, cursor.getId());
+	}
+
+	@Test
+	void testEncodedCursorIsUrlSafe() {
+		String encoded = new KeysetCursor("a/b+c?d", 1L).encode();
+
+		assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+	}
+
+	@Test
+	void testRejectsTamperedCursor() {
+		assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("not base64!"));
+		assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("YWJj"));
+	}
+}
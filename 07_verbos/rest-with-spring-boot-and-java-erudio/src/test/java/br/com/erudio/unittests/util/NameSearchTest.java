@@ -0,0 +1,45 @@
+package br.com.erudio.unittests.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import br.com.erudio.util.NameSearch;
+
+class NameSearchTest {
+
+	@Test
+	void testSubstringUsesFullTextPhraseAndLikeRecheck() {
+		var search = NameSearch.of("ann", null, 2);
+
+		assertTrue(search.usesFullText());
+		assertEquals("\"ann\"", search.getFullTextTerm());
+		assertEquals("%ann%", search.getLikePattern());
+	}
+
+	@Test
+	void testPrefixUsesOnlyLike() {
+		var search = NameSearch.of("Ann", "prefix", 2);
+
+		assertFalse(search.usesFullText());
+		assertEquals("Ann%", search.getLikePattern());
+	}
+
+	@Test
+	void testShortOrSymbolTermsFallBackToLike() {
+		assertFalse(NameSearch.of("a", null, 2).usesFullText());
+		assertFalse(NameSearch.of("o\"neil", null, 2).usesFullText());
+	}
+
+	@Test
+	void testLikeWildcardsAreEscaped() {
+		assertEquals("%50!%!_off!!%", NameSearch.of("50%_off!", null, 2).getLikePattern());
+	}
+
+	@Test
+	void testMinimumLengthFollowsNgramTokenSize() {
+		assertTrue(NameSearch.of("an", null, 2).usesFullText());
+		assertFalse(NameSearch.of("an", null, 3).usesFullText());
+		assertTrue(NameSearch.of("ann", null, 3).usesFullText());
+	}
+}